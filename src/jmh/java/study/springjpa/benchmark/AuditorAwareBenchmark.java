@@ -0,0 +1,89 @@
+package study.springjpa.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import study.springjpa.model.Member;
+import study.springjpa.repository.MemberJpaRepository;
+
+/**
+ * AuditorAware 변경 전(UUID 생성), 후(작업 단위 보관) 비교.
+ * 32 Thread 동시 save 처리량과 getCurrentAuditor 호출 비용을 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(32)
+public class AuditorAwareBenchmark {
+
+    @Param({"uuid", "unitOfWork"})
+    public String auditor;
+
+    private ConfigurableApplicationContext context;
+    private MemberJpaRepository memberJpaRepository;
+    private TransactionTemplate transactionTemplate;
+    private AuditorAware<?> auditorAware;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = "uuid".equals(auditor)
+            ? BenchmarkContext.start(new Class<?>[]{UuidAuditorConfig.class})
+            : BenchmarkContext.start();
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        auditorAware = context.getBean(AuditorAware.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<?> currentAuditor() {
+        return auditorAware.getCurrentAuditor();
+    }
+
+    @Benchmark
+    public Member save() {
+        return transactionTemplate.execute(status -> memberJpaRepository.save(new Member("Benchmark", 10)));
+    }
+
+    /**
+     * 변경 전 방식. (매 호출마다 UUID 생성)
+     * Component Scan 대상이 되지 않도록 @Configuration 을 붙이지 않는다.
+     */
+    static class UuidAuditorConfig {
+
+        @Bean
+        @Primary
+        public AuditorAware<String> uuidAuditorAware() {
+            return () -> Optional.of(UUID.randomUUID().toString());
+        }
+    }
+}
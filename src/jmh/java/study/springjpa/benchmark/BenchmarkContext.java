@@ -0,0 +1,43 @@
+package study.springjpa.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+
+import study.springjpa.SpringJpaApplication;
+
+/**
+ * Benchmark 용 Spring Context. (Embedded H2, Web 제외, datasource-proxy 제외)
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * Context 시작.
+     * @param sources       추가로 등록할 설정 클래스.
+     * @param properties    추가 설정. (key=value)
+     * @return              시작된 Context.
+     */
+    public static ConfigurableApplicationContext start(Class<?>[] sources, String... properties) {
+        Class<?>[] allSources = Arrays.copyOf(sources, sources.length + 1);
+        allSources[sources.length] = SpringJpaApplication.class;
+
+        return new SpringApplicationBuilder(allSources)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "spring.jpa.hibernate.ddl-auto=create",
+                "decorator.datasource.enabled=false",
+                "logging.level.root=warn")
+            .properties(properties)
+            .run();
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        return start(new Class<?>[0], properties);
+    }
+}
@@ -0,0 +1,103 @@
+package study.springjpa.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+
+import study.springjpa.model.Member;
+
+/**
+ * ID 생성 방식 별 Member 저장 처리량. (건당, 동시 스레드 1, 8, 64)
+ * <pre>
+ *     sequence:1   - 건마다 sequence 호출.
+ *     sequence:50  - 50 건마다 sequence 호출. (pooled-lo, 기본 설정)
+ *     sequence:1000
+ *     time         - sequence 호출 없음. (TimeOrderedIds)
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    private static final int ROWS = 100;
+
+    @Param({"sequence:1", "sequence:50", "sequence:1000", "time"})
+    public String generator;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager em;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] modeAndIncrement = generator.split(":");
+        String incrementSize = modeAndIncrement.length > 1 ? modeAndIncrement[1] : "50";
+
+        context = BenchmarkContext.start(
+            "spring.jpa.properties.id.generator.mode=" + modeAndIncrement[0],
+            "spring.jpa.properties.id.generator.member_seq.increment_size=" + incrementSize,
+            // time 모드는 node_id 가 필수이다. (sequence 모드에서는 사용하지 않는다)
+            "spring.jpa.properties.id.generator.node_id=0",
+            // 64 스레드가 Connection 을 기다리지 않도록 한다.
+            "spring.datasource.hikari.maximum-pool-size=64");
+        em = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    @OperationsPerInvocation(ROWS)
+    public void insert1() {
+        insert();
+    }
+
+    @Benchmark
+    @Threads(8)
+    @OperationsPerInvocation(ROWS)
+    public void insert8() {
+        insert();
+    }
+
+    @Benchmark
+    @Threads(64)
+    @OperationsPerInvocation(ROWS)
+    public void insert64() {
+        insert();
+    }
+
+    private void insert() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 1; i <= ROWS; i++) {
+                em.persist(new Member("Member_" + i, i % 100));
+            }
+        });
+    }
+}
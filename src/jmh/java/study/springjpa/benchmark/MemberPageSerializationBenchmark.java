@@ -0,0 +1,96 @@
+package study.springjpa.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.jackson.JsonComponentModule;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import study.springjpa.model.Member;
+import study.springjpa.model.dto.MemberSummary;
+import study.springjpa.model.dto.PageEnvelope;
+import study.springjpa.repository.MemberRepository;
+
+/**
+ * /members 응답 직렬화 비교. (PageImpl + 기본 Projection 직렬화 vs PageEnvelope + MemberSummarySerializer)
+ * SampleTime 모드로 p99 를 확인하고, 응답 크기는 Setup 에서 로그로 남긴다.
+ * 두 경우 모두 Spring Boot 설정이 적용된 ObjectMapper 를 사용하고, 변경 전은 MemberSummarySerializer 만 제외한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class MemberPageSerializationBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(MemberPageSerializationBenchmark.class);
+
+    @Param({"20", "100"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private ObjectMapper defaultObjectMapper;
+    private Page<MemberSummary> page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        context = BenchmarkContext.start("logging.level.study.springjpa.benchmark=info");
+        objectMapper = context.getBean(ObjectMapper.class);
+        // 변경 전. (@JsonComponent 인 MemberSummarySerializer 미등록, 나머지 Module, 설정은 동일)
+        Module[] modules = context.getBeansOfType(Module.class).values().stream()
+            .filter(module -> !(module instanceof JsonComponentModule))
+            .toArray(Module[]::new);
+        defaultObjectMapper = context.getBean(Jackson2ObjectMapperBuilder.class)
+            .modulesToInstall(modules)
+            .build();
+
+        MemberRepository memberRepository = context.getBean(MemberRepository.class);
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < size * 2; i++) {
+            members.add(new Member("Member_" + i, i % 100));
+        }
+        memberRepository.saveAll(members);
+        page = memberRepository.findAllProjectedBy(PageRequest.of(0, size));
+
+        log.info("payload bytes (size={}) : pageImpl={}, envelope={}", size, pageImpl().length, envelope().length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] pageImpl() throws JsonProcessingException {
+        return defaultObjectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] envelope() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(PageEnvelope.of(page));
+    }
+}
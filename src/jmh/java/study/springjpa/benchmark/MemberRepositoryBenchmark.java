@@ -0,0 +1,136 @@
+package study.springjpa.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+
+import study.springjpa.model.Member;
+import study.springjpa.model.Team;
+import study.springjpa.repository.MemberRepository;
+import study.springjpa.repository.TeamRepository;
+
+/**
+ * MemberRepository 주요 조회, 수정 경로 비교.
+ * <pre>
+ *     findByName
+ *     findPageByAge  vs findSliceByAge
+ *     findMemberFetchJoin vs findMemberEntityGraph
+ *     bulkUpdateAge vs Dirty Checking
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class MemberRepositoryBenchmark {
+
+    private static final int TEAM_COUNT = 10;
+    private static final int MEMBER_COUNT = 10_000;
+
+    /**
+     * age > 89 인 회원 (약 10%) 을 수정 대상으로 사용한다.
+     */
+    private static final int UPDATE_AGE = 89;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private EntityManager em;
+    private TransactionTemplate transactionTemplate;
+    private PageRequest pageRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        memberRepository = context.getBean(MemberRepository.class);
+        em = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        pageRequest = PageRequest.of(10, 20);
+
+        TeamRepository teamRepository = context.getBean(TeamRepository.class);
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < TEAM_COUNT; i++) {
+            teams.add(teamRepository.save(new Team("Team_" + i)));
+        }
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            members.add(new Member("Member_" + i, i % 100, teams.get(i % TEAM_COUNT)));
+        }
+        memberRepository.saveAllBatched(members);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Member> findByName() {
+        return memberRepository.findByName("Member_5000");
+    }
+
+    @Benchmark
+    public Page<Member> findPageByAge() {
+        return memberRepository.findPageByAge(10, pageRequest);
+    }
+
+    @Benchmark
+    public Slice<Member> findSliceByAge() {
+        return memberRepository.findSliceByAge(10, pageRequest);
+    }
+
+    @Benchmark
+    public List<Member> findMemberFetchJoin() {
+        return memberRepository.findMemberFetchJoin();
+    }
+
+    @Benchmark
+    public List<Member> findMemberEntityGraph() {
+        return memberRepository.findMemberEntityGraph();
+    }
+
+    @Benchmark
+    public Integer bulkUpdateAge() {
+        return transactionTemplate.execute(status -> memberRepository.bulkUpdateAge(UPDATE_AGE));
+    }
+
+    /**
+     * bulkUpdateAge 와 같은 대상을 조회 후 변경감지로 수정.
+     * Member 에 나이 변경 메소드가 없기 때문에 이름을 변경한다. (UPDATE 수량은 동일)
+     */
+    @Benchmark
+    public Integer dirtyCheckingUpdate() {
+        return transactionTemplate.execute(status -> {
+            List<Member> members = em.createQuery("select m from Member m where m.age > :age", Member.class)
+                .setParameter("age", UPDATE_AGE)
+                .getResultList();
+            for (Member member : members) {
+                String name = member.getName();
+                member.changeName(name.endsWith("_") ? name.substring(0, name.length() - 1) : name + "_");
+            }
+            return members.size();
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package study.springjpa.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+
+import study.springjpa.model.Member;
+import study.springjpa.repository.MemberJpaRepository;
+import study.springjpa.repository.StatelessBulkRepository;
+
+/**
+ * MemberJpaRepository.save 반복 vs StatelessBulkRepository 비교. (건당 시간)
+ * 할당량 비교는 GC Profiler 와 함께 실행한다.
+ * <pre>
+ *     ./gradlew jmh -PjmhInclude=StatelessBulkBenchmark -PjmhProfilers=gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StatelessBulkBenchmark {
+
+    private static final int ROWS = 5_000;
+
+    /**
+     * 저장 Benchmark 에서 추가한 Member 구분용. (조회 대상 데이터는 age < 100)
+     */
+    private static final int INSERTED_AGE = 1000;
+
+    private ConfigurableApplicationContext context;
+    private MemberJpaRepository memberJpaRepository;
+    private StatelessBulkRepository statelessBulkRepository;
+    private EntityManager em;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        statelessBulkRepository = context.getBean(StatelessBulkRepository.class);
+        em = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        statelessBulkRepository.insertAll(newMembers(0));
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearInserted() {
+        transactionTemplate.executeWithoutResult(status -> em.createQuery("delete from Member m where m.age >= :age")
+            .setParameter("age", INSERTED_AGE)
+            .executeUpdate());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 변경 전. 한 트랜잭션에서 save 반복 (영속성 컨텍스트에 ROWS 건이 쌓인다)
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void jpaSaveLoop() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Member member : newMembers(INSERTED_AGE)) {
+                memberJpaRepository.save(member);
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long statelessInsert() {
+        return statelessBulkRepository.insertAll(newMembers(INSERTED_AGE));
+    }
+
+    /**
+     * 변경 전. 전체 조회 (ROWS 건을 영속성 컨텍스트에 적재)
+     */
+    @Benchmark
+    public void jpaFindAll(Blackhole blackhole) {
+        transactionTemplate.executeWithoutResult(status -> memberJpaRepository.findAll().forEach(blackhole::consume));
+    }
+
+    @Benchmark
+    public long statelessScroll(Blackhole blackhole) {
+        return statelessBulkRepository.scrollAll(Member.class, blackhole::consume);
+    }
+
+    private List<Member> newMembers(int baseAge) {
+        List<Member> members = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            members.add(new Member("Member_" + i, baseAge + i % 100));
+        }
+        return members;
+    }
+}
@@ -0,0 +1,72 @@
+package study.springjpa.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 요청 시작시 사용자 정보를 한번만 해석하여 UnitOfWorkAuditorAware 에 설정한다.
+ * <pre>
+ *     1. 인증된 Principal (Servlet 컨테이너, 스프링 시큐리티 로그인 정보) 이 있으면 Principal 이름을 사용한다.
+ *     2. 없으면 auditor.trusted-proxies 에 등록된 내부 Gateway 에서 온 요청에 한해 사용자 번호 헤더를 사용한다.
+ *        (Gateway 에서 인증 후 헤더를 설정하고, 클라이언트가 보낸 같은 이름의 헤더는 제거해야 한다)
+ *     3. 둘 다 없으면 SYSTEM 으로 기록한다.
+ * </pre>
+ * 클라이언트가 직접 보낸 헤더는 신뢰하지 않는다. (누구나 create_by, last_modified_by 를 바꿀 수 있기 때문)
+ */
+@Component
+public class AuditorBindingFilter extends OncePerRequestFilter {
+
+    private final String headerName;
+    private final Set<String> trustedProxies;
+
+    public AuditorBindingFilter(@Value("${auditor.header-name:X-Member-Id}") String headerName,
+                                @Value("${auditor.trusted-proxies:}") String[] trustedProxies) {
+        this.headerName = headerName;
+        this.trustedProxies = Arrays.stream(trustedProxies)
+            .map(String::trim)
+            .filter(address -> !address.isEmpty())
+            .collect(Collectors.toSet());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        bind(request);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            UnitOfWorkAuditorAware.clear();
+        }
+    }
+
+    private void bind(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            UnitOfWorkAuditorAware.bind(principal.getName());
+            return;
+        }
+
+        String memberId = request.getHeader(headerName);
+        if (memberId == null || !trustedProxies.contains(request.getRemoteAddr())) {
+            return;
+        }
+        try {
+            UnitOfWorkAuditorAware.bind(Long.parseLong(memberId.trim()));
+        } catch (NumberFormatException e) {
+            // 잘못된 사용자 번호는 무시하고 SYSTEM 으로 기록한다.
+            UnitOfWorkAuditorAware.clear();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package study.springjpa.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import study.springjpa.config.datasource.HikariPoolSizer;
+
+/**
+ * JDBC 작업용 Executor 설정.
+ * Virtual Thread 를 지원하는 JDK (21+) 에서는 Virtual Thread 를 사용하고, 그 외에는 고정 크기 Thread Pool 을 사용한다.
+ * 동시 실행 수량은 사용하는 쪽에서 Connection Pool 크기에 맞게 제한한다.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService partitionScanExecutor(@Value("${partition-scan.pool-size:0}") int poolSize) {
+        return newJdbcExecutor("partition-scan", poolSize);
+    }
+
+    /**
+     * 비동기 Repository 조회용 Executor. (MemberAsyncService)
+     * Servlet Thread 대신 JDBC 대기를 담당하며, 동시 실행 수량은 MemberAsyncService 에서
+     * jdbc-executor.max-concurrency (기본 Connection Pool 크기) 로 제한한다.
+     * jdbc-executor.pool-size 가 0 이면 실제 Connection Pool 크기 (HikariPoolSizer 적용 후) 를 사용한다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService jdbcExecutor(@Value("${jdbc-executor.pool-size:0}") int poolSize, DataSource dataSource) {
+        return newJdbcExecutor("jdbc", poolSize > 0 ? poolSize : HikariPoolSizer.maximumPoolSize(dataSource, 10));
+    }
+
+    /**
+     * @param name      Thread 이름.
+     * @param poolSize  Platform Thread 사용시 Pool 크기. 0 이하면 CPU 코어 수.
+     */
+    static ExecutorService newJdbcExecutor(String name, int poolSize) {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+            return Executors.newFixedThreadPool(size, namedThreadFactory(name));
+        }
+    }
+
+    private static ThreadFactory namedThreadFactory(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package study.springjpa.config;
+
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.cache.CacheManager;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * 2차 캐시 Region 별 hit / miss / put / eviction 통계와 Query Plan Cache 통계를 제공하는 Actuator Endpoint.
+ * GET /actuator/hibernatecache
+ */
+@Component
+@Endpoint(id = "hibernatecache")
+public class HibernateCacheEndpoint {
+
+    private final Statistics statistics;
+    private final CacheManager cacheManager;
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    private final Object queryPlanCacheMaxSize;
+
+    public HibernateCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.statistics = sessionFactory.getStatistics();
+        this.queryPlanCacheMaxSize = sessionFactory.getProperties()
+            .getOrDefault(AvailableSettings.QUERY_PLAN_CACHE_MAX_SIZE, QueryPlanCache.DEFAULT_QUERY_PLAN_MAX_COUNT);
+
+        RegionFactory regionFactory = sessionFactory.getCache().getRegionFactory();
+        this.cacheManager = regionFactory instanceof JCacheRegionFactory
+            ? ((JCacheRegionFactory) regionFactory).getCacheManager()
+            : null;
+
+        // eviction 수량은 JCache 통계(MXBean)에서만 확인이 가능하다.
+        if (cacheManager != null) {
+            for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+                cacheManager.enableStatistics(regionName, true);
+            }
+        }
+    }
+
+    @ReadOperation
+    public Map<String, Object> cacheStatistics() {
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(regionName);
+            if (regionStatistics == null) {
+                continue;
+            }
+            Map<String, Object> region = new LinkedHashMap<>();
+            region.put("hit", regionStatistics.getHitCount());
+            region.put("miss", regionStatistics.getMissCount());
+            region.put("put", regionStatistics.getPutCount());
+            region.put("size", regionStatistics.getElementCountInMemory());
+            region.put("eviction", evictionCount(regionName));
+            regions.put(regionName, region);
+        }
+
+        Map<String, Object> queryCache = new LinkedHashMap<>();
+        queryCache.put("hit", statistics.getQueryCacheHitCount());
+        queryCache.put("miss", statistics.getQueryCacheMissCount());
+        queryCache.put("put", statistics.getQueryCachePutCount());
+
+        // JPQL -> SQL 변환 결과 (Query Plan) 재사용 현황.
+        long planHit = statistics.getQueryPlanCacheHitCount();
+        long planMiss = statistics.getQueryPlanCacheMissCount();
+        Map<String, Object> queryPlanCache = new LinkedHashMap<>();
+        queryPlanCache.put("hit", planHit);
+        queryPlanCache.put("miss", planMiss);
+        queryPlanCache.put("hitRatio", planHit + planMiss == 0 ? 0.0 : (double) planHit / (planHit + planMiss));
+        queryPlanCache.put("maxSize", queryPlanCacheMaxSize);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("regions", regions);
+        result.put("queryCache", queryCache);
+        result.put("queryPlanCache", queryPlanCache);
+        return result;
+    }
+
+    /**
+     * JCache 표준 MXBean 에서 eviction 수량 조회.
+     * javax.cache:type=CacheStatistics,CacheManager=...,Cache=regionName
+     */
+    private Long evictionCount(String regionName) {
+        if (cacheManager == null) {
+            return null;
+        }
+        try {
+            ObjectName pattern = new ObjectName("javax.cache:type=CacheStatistics,Cache=" + sanitize(regionName) + ",*");
+            Set<ObjectName> names = mBeanServer.queryNames(pattern, null);
+            for (ObjectName name : names) {
+                return (Long) mBeanServer.getAttribute(name, "CacheEvictions");
+            }
+        } catch (JMException e) {
+            return null;
+        }
+        return null;
+    }
+
+    private String sanitize(String name) {
+        return name.replaceAll("[,:=\n]", ".");
+    }
+}
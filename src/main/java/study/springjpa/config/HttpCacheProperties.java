@@ -0,0 +1,73 @@
+package study.springjpa.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Endpoint 별 Cache-Control 설정.
+ * 설정이 없는 Endpoint 는 no-cache (매번 ETag 로 재검증) 를 사용한다.
+ * <pre>
+ * http-cache:
+ *   policies:
+ *     members:
+ *       max-age: 5s
+ *       cache-private: true
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "http-cache")
+public class HttpCacheProperties {
+
+    private Map<String, Policy> policies = new HashMap<>();
+
+    /**
+     * @param endpoint  Endpoint 이름.
+     * @return          Cache-Control.
+     */
+    public CacheControl cacheControl(String endpoint) {
+        Policy policy = policies.get(endpoint);
+        return policy == null ? CacheControl.noCache() : policy.toCacheControl();
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+
+        /**
+         * 재검증 없이 사용 가능한 시간. 0 이면 no-cache.
+         */
+        private Duration maxAge = Duration.ZERO;
+
+        /**
+         * 공유 캐시 (Proxy, CDN) 저장 금지.
+         */
+        private boolean cachePrivate = true;
+
+        /**
+         * 만료 후 반드시 재검증.
+         */
+        private boolean mustRevalidate = true;
+
+        CacheControl toCacheControl() {
+            CacheControl cacheControl = maxAge.isZero()
+                ? CacheControl.noCache()
+                : CacheControl.maxAge(maxAge.toMillis(), TimeUnit.MILLISECONDS);
+            if (cachePrivate) {
+                cacheControl = cacheControl.cachePrivate();
+            }
+            if (mustRevalidate) {
+                cacheControl = cacheControl.mustRevalidate();
+            }
+            return cacheControl;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package study.springjpa.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.LazyInitializationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 세션 (트랜잭션) 이 끝난 뒤의 지연 로딩 (Member.team 프록시, Team.members 컬렉션 초기화) 을 감지한다.
+ * open-in-view 를 사용하지 않기 때문에 트랜잭션 밖의 지연 로딩은 LazyInitializationException 으로 실패한다.
+ * 요청 처리 중 (Controller, 비동기 응답, JSON 직렬화) 발생한 LazyInitializationException 의 호출 위치를 기록하고,
+ * 예외는 처리하지 않고 다음 HandlerExceptionResolver 로 넘긴다. (응답은 기존과 같다)
+ * 트랜잭션 여부를 직접 판단하지 않기 때문에 EntityTransaction (scanPartitioned) 안의 지연 로딩은 감지하지 않는다.
+ * <pre>
+ *     lazy-load-guard.mode : off  - 기록하지 않는다.
+ *                            log  - 호출 위치를 경고 로그로 남긴다. (개발 기본값)
+ * </pre>
+ * 감지 횟수는 jpa.lazy_load.outside_transaction{role} 로 기록한다.
+ */
+@Slf4j
+@Component
+public class LazyLoadGuard implements HandlerExceptionResolver, Ordered {
+
+    public enum Mode {
+        OFF, LOG
+    }
+
+    private static final String APPLICATION_PACKAGE = "study.springjpa.";
+
+    /**
+     * "... collection of role: study.springjpa.model.Team.members, ..." 또는 "... proxy [study.springjpa.model.Team#1] ..."
+     */
+    private static final Pattern ROLE = Pattern.compile("(?:role: |proxy \\[)([\\w.$]+)");
+
+    private final MeterRegistry meterRegistry;
+    private final Mode mode;
+
+    public LazyLoadGuard(MeterRegistry meterRegistry,
+                         @Value("${lazy-load-guard.mode:off}") String mode) {
+        this.meterRegistry = meterRegistry;
+        this.mode = Mode.valueOf(mode.toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response,
+                                         Object handler, Exception ex) {
+        if (mode != Mode.OFF) {
+            LazyInitializationException lazy = findLazyInitializationException(ex);
+            if (lazy != null) {
+                record(lazy, request.getRequestURI());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private void record(LazyInitializationException e, String uri) {
+        String role = role(e);
+        meterRegistry.counter("jpa.lazy_load.outside_transaction", "role", role).increment();
+        log.warn("lazy loading outside transaction : {} at {} ({})", role, callSite(e), uri);
+    }
+
+    /**
+     * 비동기 응답 (CompletionException), JSON 직렬화 (HttpMessageNotWritableException) 등으로 감싸진 경우를 포함한다.
+     */
+    private static LazyInitializationException findLazyInitializationException(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof LazyInitializationException) {
+                return (LazyInitializationException) cause;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    private static String role(LazyInitializationException e) {
+        if (e.getMessage() == null) {
+            return "unknown";
+        }
+        Matcher matcher = ROLE.matcher(e.getMessage());
+        return matcher.find() ? matcher.group(1) : "unknown";
+    }
+
+    /**
+     * 지연 로딩을 일으킨 애플리케이션 코드 위치. (Hibernate, Spring, 프록시 제외)
+     */
+    private static String callSite(LazyInitializationException e) {
+        return Arrays.stream(e.getStackTrace())
+            .filter(element -> element.getClassName().startsWith(APPLICATION_PACKAGE))
+            .filter(element -> !element.getClassName().contains("$HibernateProxy$"))
+            .findFirst()
+            .map(StackTraceElement::toString)
+            .orElse("unknown");
+    }
+}
@@ -0,0 +1,50 @@
+package study.springjpa.config;
+
+import org.springframework.data.domain.AuditorAware;
+
+import java.util.Optional;
+
+/**
+ * 작업 단위(요청, Thread) 동안 한번만 결정된 사용자 정보를 반환하는 AuditorAware.
+ * AuditingEntityListener 가 저장, 수정 할때 마다 호출하기 때문에 호출 시점에는 객체 생성 없이 보관된 값을 반환한다.
+ * 작업 단위에 사용자가 없으면 SYSTEM 을 사용한다.
+ */
+public class UnitOfWorkAuditorAware implements AuditorAware<String> {
+
+    /**
+     * 로그인 정보가 없는 배치, 내부 작업용 사용자.
+     */
+    public static final String SYSTEM = "system";
+
+    private static final Optional<String> SYSTEM_AUDITOR = Optional.of(SYSTEM);
+    private static final ThreadLocal<Optional<String>> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public Optional<String> getCurrentAuditor() {
+        Optional<String> auditor = CURRENT.get();
+        return auditor == null ? SYSTEM_AUDITOR : auditor;
+    }
+
+    /**
+     * 현재 작업 단위의 사용자 설정.
+     * @param memberId  사용자 번호.
+     */
+    public static void bind(long memberId) {
+        bind(Long.toString(memberId));
+    }
+
+    /**
+     * 현재 작업 단위의 사용자 설정.
+     * @param auditor   사용자. (인증된 Principal 이름 등)
+     */
+    public static void bind(String auditor) {
+        CURRENT.set(Optional.of(auditor));
+    }
+
+    /**
+     * 현재 작업 단위의 사용자 해제.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
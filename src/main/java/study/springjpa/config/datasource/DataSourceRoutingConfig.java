@@ -0,0 +1,93 @@
+package study.springjpa.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary / Replica DataSource 라우팅 설정. datasource.routing.enabled=true 인 경우에만 사용한다.
+ * 각 Pool 은 Bean 으로 등록하지 않는다. (datasource-proxy 가 중복으로 감싸지 않도록)
+ * readOnly 트랜잭션의 FlushMode.MANUAL, Snapshot 생략은 HibernateJpaDialect 에서 처리한다.
+ */
+@Configuration
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig implements DisposableBean {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private HikariPoolSizer hikariPoolSizer;
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                 RoutingDataSourceProperties routingProperties,
+                                 Environment environment,
+                                 HikariPoolSizer hikariPoolSizer,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        this.hikariPoolSizer = hikariPoolSizer;
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        configure(primary, "primary", binder, meterRegistry);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<RoutingDataSourceProperties.Replica> replicaList = routingProperties.getReplicas();
+        for (int i = 0; i < replicaList.size(); i++) {
+            RoutingDataSourceProperties.Replica replica = replicaList.get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            dataSource.setReadOnly(true);
+            String name = "replica-" + i;
+            configure(dataSource, name, binder, meterRegistry);
+            replicas.put(name, dataSource);
+        }
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, routingProperties.getHealthCheckInterval());
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * spring.datasource.hikari 설정을 모든 Pool 에 동일하게 적용한다.
+     */
+    private void configure(HikariDataSource dataSource, String name, Binder binder,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        if (hikariPoolSizer.isAutoSize()) {
+            HikariPoolSizer.apply(dataSource, hikariPoolSizer.getEffectiveSpindleCount());
+        }
+        meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package study.springjpa.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * datasource.pool.auto-size=true 인 경우 CPU 코어 수 기준으로 Pool 크기를 결정한다.
+ * pool size = (core count * 2) + effective spindle count
+ * 크기가 고정된 Pool (minimumIdle == maximumPoolSize) 로 구성하여 요청이 몰릴때 Connection 생성 비용이 없도록 한다.
+ */
+@Slf4j
+@Component
+public class HikariPoolSizer implements BeanPostProcessor, EnvironmentAware {
+
+    private boolean autoSize;
+    private int effectiveSpindleCount;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.autoSize = environment.getProperty("datasource.pool.auto-size", Boolean.class, false);
+        this.effectiveSpindleCount = environment.getProperty("datasource.pool.effective-spindle-count", Integer.class, 1);
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (autoSize && bean instanceof HikariDataSource) {
+            apply((HikariDataSource) bean, effectiveSpindleCount);
+        }
+        return bean;
+    }
+
+    /**
+     * Pool 크기 적용. Bean 으로 등록되지 않는 Pool (Replica) 에서도 사용한다.
+     */
+    static void apply(HikariDataSource dataSource, int effectiveSpindleCount) {
+        int size = Runtime.getRuntime().availableProcessors() * 2 + effectiveSpindleCount;
+        dataSource.setMaximumPoolSize(size);
+        dataSource.setMinimumIdle(size);
+        log.info("hikari pool [{}] size = {}", dataSource.getPoolName(), size);
+    }
+
+    /**
+     * 실제 적용된 Pool 크기. (auto-size 적용 후의 값, Proxy, Routing DataSource 는 풀어서 확인한다)
+     * Connection 수량에 맞춰 동시 실행을 제한하는 곳 (jdbcExecutor, MemberAsyncService) 에서 사용한다.
+     * @param dataSource    DataSource Bean.
+     * @param defaultSize   HikariDataSource 가 아닌 경우 사용할 크기.
+     * @return              maximumPoolSize.
+     */
+    public static int maximumPoolSize(DataSource dataSource, int defaultSize) {
+        HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+        return hikari != null ? hikari.getMaximumPoolSize() : defaultSize;
+    }
+
+    boolean isAutoSize() {
+        return autoSize;
+    }
+
+    int getEffectiveSpindleCount() {
+        return effectiveSpindleCount;
+    }
+}
@@ -0,0 +1,155 @@
+package study.springjpa.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * readOnly 트랜잭션은 정상 상태인 Replica 중 하나로 (Round Robin), 그 외는 Primary 로 보낸다.
+ * 사용 가능한 Replica 가 없으면 Primary 를 사용한다.
+ * 상태 확인 사이에 Replica 가 중단되어 Connection 획득에 실패하면 해당 요청은 Primary 로 보내고,
+ * 다음 상태 확인까지 그 Replica 를 제외한다.
+ * 트랜잭션의 readOnly 여부가 결정된 이후에 Connection 을 가져와야 하기 때문에
+ * 반드시 LazyConnectionDataSourceProxy 로 감싸서 사용한다.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final Duration healthCheckInterval;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    private volatile List<String> healthyReplicas;
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration healthCheckInterval) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.healthCheckInterval = healthCheckInterval;
+        this.healthyReplicas = new ArrayList<>(replicas.keySet());
+
+        Map<Object, Object> targetDataSources = new HashMap<>(replicas);
+        targetDataSources.put(PRIMARY, primary);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        List<String> candidates = healthyReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(sequence.getAndIncrement(), candidates.size()));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection getConnection(ConnectionSupplier supplier) throws SQLException {
+        Object key = determineCurrentLookupKey();
+        DataSource replica = replicas.get(key);
+        if (replica == null) {
+            return supplier.get(primary);
+        }
+        try {
+            return supplier.get(replica);
+        } catch (SQLException e) {
+            log.warn("replica connection failed, fallback to primary. replica={}", key, e);
+            markUnhealthy(key);
+            return supplier.get(primary);
+        }
+    }
+
+    private synchronized void markUnhealthy(Object key) {
+        List<String> healthy = new ArrayList<>(healthyReplicas);
+        if (healthy.remove(key)) {
+            healthyReplicas = healthy;
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        if (replicas.isEmpty()) {
+            return;
+        }
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 기동 시점의 상태는 바로 확인한다.
+        checkHealth();
+        long interval = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Replica 별 Connection 유효성 검사 후 사용 가능한 목록 갱신.
+     */
+    void checkHealth() {
+        List<String> healthy = new ArrayList<>();
+        for (Map.Entry<String, DataSource> entry : replicas.entrySet()) {
+            try (Connection connection = entry.getValue().getConnection()) {
+                if (connection.isValid(1)) {
+                    healthy.add(entry.getKey());
+                }
+            } catch (SQLException e) {
+                log.debug("replica health check failed. replica={}", entry.getKey(), e);
+            }
+        }
+        if (!healthy.equals(healthyReplicas)) {
+            log.warn("healthy replicas changed. {} -> {}", healthyReplicas, healthy);
+        }
+        healthyReplicas = healthy;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (Object dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof Closeable) {
+                ((Closeable) dataSource).close();
+            }
+        }
+    }
+}
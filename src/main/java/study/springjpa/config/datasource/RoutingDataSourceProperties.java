@@ -0,0 +1,43 @@
+package study.springjpa.config.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 읽기 전용 트랜잭션을 Replica 로 보내기 위한 설정.
+ * <pre>
+ * datasource:
+ *   routing:
+ *     enabled: true
+ *     replicas:
+ *       - url: jdbc:h2:tcp://localhost:9093/~/db/jspringjpa
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datasource.routing")
+public class RoutingDataSourceProperties {
+
+    private boolean enabled;
+
+    /**
+     * Replica 상태 확인 주기.
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
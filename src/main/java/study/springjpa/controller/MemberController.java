@@ -1,31 +1,82 @@
 package study.springjpa.controller;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import javax.servlet.http.HttpServletResponse;
+
+import study.springjpa.config.HttpCacheProperties;
 import study.springjpa.model.Member;
+import study.springjpa.model.dto.CursorSlice;
+import study.springjpa.model.dto.MemberCursor;
+import study.springjpa.model.dto.MemberDto;
+import study.springjpa.model.dto.MemberNameDto;
+import study.springjpa.model.dto.MemberSummary;
+import study.springjpa.model.dto.PageEnvelope;
+import study.springjpa.model.dto.ResourceVersion;
 import study.springjpa.repository.MemberRepository;
+import study.springjpa.service.MemberAsyncService;
+import study.springjpa.service.MemberExportService;
+import study.springjpa.service.MemberPageService;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    /**
+     * Keyset 페이징 한번에 조회 가능한 최대 수량.
+     */
+    private static final int MAX_CURSOR_SIZE = 100;
+
     private final MemberRepository memberRepository;
+    private final MemberExportService memberExportService;
+    private final MemberAsyncService memberAsyncService;
+    private final MemberPageService memberPageService;
+    private final HttpCacheProperties httpCacheProperties;
 
     /**
      * Domain Class Converter before.
+     * version 이 같으면 (If-None-Match) 이름을 조회하지 않고 304 로 응답한다.
      *
      * @param id member ID.
+     * @param request 조건부 요청 정보.
      * @return Member Name.
      */
     @GetMapping("/members/{id}")
-    public String findMember(@PathVariable("id") Long id) {
-        Member member = memberRepository.findById(id).orElse(null);
-        assert member != null;
-        return member.getName();
+    public ResponseEntity<String> findMember(@PathVariable("id") Long id, WebRequest request) {
+        ResourceVersion version = memberRepository.findVersionById(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        if (request.checkNotModified(version.getTag(), version.getLastModifiedMillis())) {
+            return notModified("member");
+        }
+
+        // Entity 대신 필요한 컬럼만 Projection 으로 조회.
+        String name = memberRepository.findProjectionById(id, MemberNameDto.class)
+            .map(MemberNameDto::getName)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        return ResponseEntity.ok()
+            .cacheControl(httpCacheProperties.cacheControl("member"))
+            .body(name);
     }
 
     /**
@@ -40,11 +91,121 @@ public class MemberController {
 
     /**
      * 스프링 데이터 제공하는 페이징과 정렬 기능.
+     * 응답은 PageImpl 대신 PageEnvelope (content, page, size, totalElements, hasNext) 로 전달한다.
+     * count 는 매 요청마다 조회하지 않고 PageCounter 전략을 따른다.
+     * 전체 수량, 최종 수정 시각이 같으면 (If-None-Match, If-Modified-Since) 목록을 조회하지 않고 304 로 응답한다.
      * @param pageable      페이징 정보.
+     * @param request       조건부 요청 정보.
      * @return              페이징된 데이터.
      */
     @GetMapping("/members")
-    public Page<Member> list(Pageable pageable) {
-        return memberRepository.findAll(pageable);
+    public ResponseEntity<PageEnvelope<MemberSummary>> list(Pageable pageable, WebRequest request) {
+        ResourceVersion version = memberPageService.findAllVersion(pageable);
+        if (request.checkNotModified(version.getTag(), version.getLastModifiedMillis())) {
+            return notModified("members");
+        }
+        return ResponseEntity.ok()
+            .cacheControl(httpCacheProperties.cacheControl("members"))
+            .body(PageEnvelope.of(memberPageService.findAll(pageable)));
+    }
+
+    /**
+     * /members/{id} 비동기 버전. 조회는 jdbcExecutor 에서 수행되고 Servlet Thread 는 바로 반환된다.
+     * @param id        member ID.
+     * @return          Member Name.
+     */
+    @GetMapping("/async/members/{id}")
+    public CompletableFuture<String> findMemberAsync(@PathVariable("id") Long id) {
+        return memberAsyncService.findName(id)
+            .thenApply(name -> name
+                .map(MemberNameDto::getName)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    /**
+     * /members 비동기 버전.
+     * @param pageable      페이징 정보.
+     * @return              페이징된 데이터.
+     */
+    @GetMapping("/async/members")
+    public CompletableFuture<PageEnvelope<MemberSummary>> listAsync(Pageable pageable) {
+        return memberAsyncService.findAll(pageable).thenApply(PageEnvelope::of);
+    }
+
+    /**
+     * Keyset(Seek) 페이징. offset, count 쿼리 없이 cursor 이후의 데이터를 조회한다.
+     * @param cursor        이전 응답의 next 토큰. 없으면 첫 페이지.
+     * @param size          페이지당 수량.
+     * @return              조회된 데이터와 다음 페이지 토큰.
+     */
+    @GetMapping("/members/keyset")
+    public CursorSlice<MemberDto> keyset(@RequestParam(value = "cursor", required = false) String cursor,
+                                         @RequestParam(value = "size", defaultValue = "20") int size) {
+        PageRequest pageRequest = PageRequest.of(0, Math.max(1, Math.min(size, MAX_CURSOR_SIZE)));
+
+        Slice<Member> slice;
+        if (cursor == null || cursor.isEmpty()) {
+            slice = memberRepository.findSliceOrderByAgeAndId(pageRequest);
+        } else {
+            MemberCursor memberCursor = decodeCursor(cursor);
+            slice = memberRepository.findSliceByAgeAndIdAfter(memberCursor.getAge(), memberCursor.getId(), pageRequest);
+        }
+
+        List<Member> content = slice.getContent();
+        List<MemberDto> memberDtoList = content.stream()
+            .map(MemberDto::new)
+            .collect(Collectors.toList());
+        String next = slice.hasNext() ? MemberCursor.of(content.get(content.size() - 1)).encode() : null;
+        return new CursorSlice<>(memberDtoList, next);
+    }
+
+    /**
+     * 회원 전체 정보를 Stream 으로 응답에 바로 출력한다. (NDJSON, CSV)
+     * @param format        출력 형식. (ndjson, csv)
+     * @param response      응답 객체.
+     * @throws IOException  출력 실패.
+     */
+    @GetMapping("/members/export")
+    public void export(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        MemberExportService.Format exportFormat;
+        try {
+            exportFormat = MemberExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported format : " + format, e);
+        }
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        memberExportService.export(response.getOutputStream(), exportFormat);
+    }
+
+    /**
+     * jdbcExecutor 대기 수량 초과. 요청을 쌓아두지 않고 바로 503 으로 응답한다.
+     * @param e             거절 사유.
+     * @return              503 Service Unavailable.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> rejected(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(e.getMessage());
+    }
+
+    /**
+     * checkNotModified 에서 ETag, Last-Modified 헤더와 304 상태가 설정된다.
+     */
+    private <T> ResponseEntity<T> notModified(String endpoint) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .cacheControl(httpCacheProperties.cacheControl(endpoint))
+            .build();
+    }
+
+    private MemberCursor decodeCursor(String cursor) {
+        try {
+            return MemberCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
     }
 }
@@ -0,0 +1,29 @@
+package study.springjpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import study.springjpa.model.dto.TeamRoster;
+import study.springjpa.service.TeamRosterService;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamController {
+
+    private final TeamRosterService teamRosterService;
+
+    /**
+     * 팀 소속 회원 목록. (TeamRosterCache)
+     * @param id        team ID.
+     * @return          member_id, 이름 목록.
+     */
+    @GetMapping("/teams/{id}/roster")
+    public TeamRoster roster(@PathVariable("id") Long id) {
+        return teamRosterService.findRoster(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+}
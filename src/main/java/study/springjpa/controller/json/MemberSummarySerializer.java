@@ -0,0 +1,31 @@
+package study.springjpa.controller.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+import study.springjpa.model.dto.MemberSummary;
+
+/**
+ * MemberSummary (Projection Proxy) 직렬화.
+ * Proxy 클래스마다 Bean 정보를 분석하지 않고, 필요한 필드만 JsonGenerator 로 바로 출력한다.
+ */
+@JsonComponent
+public class MemberSummarySerializer extends StdSerializer<MemberSummary> {
+
+    public MemberSummarySerializer() {
+        super(MemberSummary.class);
+    }
+
+    @Override
+    public void serialize(MemberSummary value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", value.getId());
+        generator.writeStringField("name", value.getName());
+        generator.writeNumberField("age", value.getAge());
+        generator.writeEndObject();
+    }
+}
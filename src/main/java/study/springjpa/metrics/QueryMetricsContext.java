@@ -0,0 +1,89 @@
+package study.springjpa.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 현재 Thread 에서 실행중인 Repository 메소드와 작업 단위(요청) 동안의 SQL 실행 횟수를 보관한다.
+ * 작업 단위가 시작되지 않은 경우 N + 1 검사를 하지 않는다.
+ */
+public final class QueryMetricsContext {
+
+    /**
+     * Repository 메소드 밖에서 실행된 SQL (지연 로딩 등)
+     */
+    public static final String NO_REPOSITORY = "none";
+
+    private static final ThreadLocal<String> REPOSITORY_METHOD = new ThreadLocal<>();
+    private static final ThreadLocal<UnitOfWork> UNIT_OF_WORK = new ThreadLocal<>();
+
+    private QueryMetricsContext() {
+    }
+
+    /**
+     * 현재 Repository 메소드 설정. 이미 설정된 경우 (중첩 호출) 무시한다.
+     * @param method    Repository 메소드 이름.
+     * @return          설정 여부. true 인 경우 호출한 쪽에서 clearRepositoryMethod 호출 필요.
+     */
+    static boolean enterRepositoryMethod(String method) {
+        if (REPOSITORY_METHOD.get() != null) {
+            return false;
+        }
+        REPOSITORY_METHOD.set(method);
+        return true;
+    }
+
+    static void clearRepositoryMethod() {
+        REPOSITORY_METHOD.remove();
+    }
+
+    static String currentRepositoryMethod() {
+        String method = REPOSITORY_METHOD.get();
+        return method == null ? NO_REPOSITORY : method;
+    }
+
+    /**
+     * 작업 단위 시작. 이후 실행되는 SQL 수와 SELECT 횟수를 SQL 별로 집계한다.
+     */
+    public static void beginUnitOfWork() {
+        UNIT_OF_WORK.set(new UnitOfWork());
+    }
+
+    /**
+     * 작업 단위 종료.
+     * @return          작업 단위 동안 실행된 SQL 수. 작업 단위가 없으면 0.
+     */
+    public static int endUnitOfWork() {
+        UnitOfWork unitOfWork = UNIT_OF_WORK.get();
+        UNIT_OF_WORK.remove();
+        return unitOfWork == null ? 0 : unitOfWork.statements;
+    }
+
+    /**
+     * 작업 단위 내 SQL 실행 수 증가. (종류 무관)
+     */
+    static void recordStatement() {
+        UnitOfWork unitOfWork = UNIT_OF_WORK.get();
+        if (unitOfWork != null) {
+            unitOfWork.statements++;
+        }
+    }
+
+    /**
+     * 동일 SQL 실행 횟수 증가.
+     * @param sql       실행된 SQL.
+     * @return          작업 단위 내 실행 횟수. 작업 단위가 없으면 0.
+     */
+    static int incrementAndGet(String sql) {
+        UnitOfWork unitOfWork = UNIT_OF_WORK.get();
+        if (unitOfWork == null) {
+            return 0;
+        }
+        return unitOfWork.selects.merge(sql, 1, Integer::sum);
+    }
+
+    private static final class UnitOfWork {
+        private final Map<String, Integer> selects = new HashMap<>();
+        private int statements;
+    }
+}
@@ -0,0 +1,51 @@
+package study.springjpa.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * HTTP 요청 하나를 N + 1 검사 작업 단위로 사용하고,
+ * 요청별 SQL 실행 수를 jdbc.request.statements{uri} 로 기록한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    /**
+     * Handler 를 찾지 못한 요청. (404 등)
+     */
+    static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryMetricsContext.beginUnitOfWork();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            record(request, QueryMetricsContext.endUnitOfWork());
+        }
+    }
+
+    private void record(HttpServletRequest request, int statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("jdbc.request.statements")
+            .description("요청별 JDBC 실행 수")
+            .tag("uri", pattern == null ? UNKNOWN_URI : pattern.toString())
+            .register(meterRegistry)
+            .record(statements);
+    }
+}
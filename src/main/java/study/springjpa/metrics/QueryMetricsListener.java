@@ -0,0 +1,98 @@
+package study.springjpa.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * datasource-proxy 를 통해 실행되는 모든 SQL 의 실행 횟수, 시간을 Micrometer 로 기록한다.
+ * <pre>
+ *     jdbc.statement       Repository 메소드, SQL 종류(select, insert ..) 별 실행 시간 (Histogram)
+ *     jdbc.request.statements  요청별 SQL 실행 수 (QueryMetricsFilter 에서 기록)
+ *     jdbc.n_plus_one      작업 단위 안에서 동일 SELECT 가 임계치 이상 반복된 횟수
+ * </pre>
+ * SQL 문자열 로그는 debug 레벨에서 sample-rate 비율만큼만 출력한다.
+ */
+@Slf4j
+@Component
+public class QueryMetricsListener implements QueryExecutionListener {
+
+    private final MeterRegistry meterRegistry;
+    private final double logSampleRate;
+    private final int nPlusOneThreshold;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> nPlusOneCounters = new ConcurrentHashMap<>();
+
+    public QueryMetricsListener(MeterRegistry meterRegistry,
+                                @Value("${query-metrics.log-sample-rate:0.0}") double logSampleRate,
+                                @Value("${query-metrics.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.logSampleRate = logSampleRate;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // 실행 시간은 datasource-proxy 에서 측정한다.
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String method = QueryMetricsContext.currentRepositoryMethod();
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        QueryType type = QueryUtils.getQueryType(sql);
+
+        timer(method, type, execInfo.isSuccess()).record(execInfo.getElapsedTime(), TimeUnit.MILLISECONDS);
+        QueryMetricsContext.recordStatement();
+
+        if (type == QueryType.SELECT) {
+            detectNPlusOne(method, sql);
+        }
+
+        if (log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+            log.debug("[{}] {}ms {}", method, execInfo.getElapsedTime(), sql);
+        }
+    }
+
+    private Timer timer(String method, QueryType type, boolean success) {
+        String key = method + '|' + type + '|' + success;
+        return timers.computeIfAbsent(key, k -> Timer.builder("jdbc.statement")
+            .description("Repository 메소드별 JDBC 실행 시간")
+            .tag("method", method)
+            .tag("type", type.name().toLowerCase())
+            .tag("success", String.valueOf(success))
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+    }
+
+    /**
+     * 동일 SELECT 가 작업 단위 안에서 임계치에 도달하는 순간 한번만 경고한다.
+     */
+    private void detectNPlusOne(String method, String sql) {
+        int count = QueryMetricsContext.incrementAndGet(sql);
+        if (count != nPlusOneThreshold) {
+            return;
+        }
+        nPlusOneCounters.computeIfAbsent(method, k -> Counter.builder("jdbc.n_plus_one")
+                .description("동일 SELECT 반복 실행 감지 횟수")
+                .tag("method", method)
+                .register(meterRegistry))
+            .increment();
+        log.warn("N + 1 suspected. method={}, executed {} times : {}", method, count, sql);
+    }
+}
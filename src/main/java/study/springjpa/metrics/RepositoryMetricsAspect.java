@@ -0,0 +1,88 @@
+package study.springjpa.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Repository 메소드 단위로 SQL 집계를 하기 위해 현재 실행중인 메소드 이름을 설정하고,
+ * 반환된 결과 건수 (Collection, Slice 크기) 를 repository.result.size 로 기록한다.
+ * JDBC 에서 읽은 행 수가 아니다. (fetch join 으로 중복된 행, 집계 쿼리의 행 등은 알 수 없다)
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Class<?>, Map<Method, String>> methodNames = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> resultSizes = new ConcurrentHashMap<>();
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))"
+        + " || within(@org.springframework.stereotype.Repository study.springjpa..*)")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = methodName(joinPoint);
+        boolean entered = QueryMetricsContext.enterRepositoryMethod(method);
+        try {
+            Object result = joinPoint.proceed();
+            recordResultSize(method, result);
+            return result;
+        } finally {
+            if (entered) {
+                QueryMetricsContext.clearRepositoryMethod();
+            }
+        }
+    }
+
+    private void recordResultSize(String method, Object result) {
+        int size;
+        if (result instanceof Collection) {
+            size = ((Collection<?>) result).size();
+        } else if (result instanceof Slice) {
+            size = ((Slice<?>) result).getNumberOfElements();
+        } else {
+            return;
+        }
+        resultSizes.computeIfAbsent(method, key -> DistributionSummary.builder("repository.result.size")
+                .description("Repository 메소드 반환 결과 건수")
+                .tag("method", key)
+                .register(meterRegistry))
+            .record(size);
+    }
+
+    /**
+     * MemberRepository.findAll 과 같이 상속된 메소드도 실제 Repository 이름으로 구분한다.
+     */
+    private String methodName(ProceedingJoinPoint joinPoint) {
+        Object proxy = joinPoint.getThis();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return methodNames.computeIfAbsent(proxy.getClass(), key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(method, key -> repositoryName(proxy, key) + "." + key.getName());
+    }
+
+    private String repositoryName(Object proxy, Method method) {
+        if (Proxy.isProxyClass(proxy.getClass())) {
+            for (Class<?> type : proxy.getClass().getInterfaces()) {
+                if (type.getName().startsWith("study.springjpa")) {
+                    return type.getSimpleName();
+                }
+            }
+            return method.getDeclaringClass().getSimpleName();
+        }
+        return ClassUtils.getUserClass(proxy).getSimpleName();
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import javax.persistence.Column;
 import javax.persistence.EntityListeners;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
 
 
 @EntityListeners(AuditingEntityListener.class)
@@ -22,4 +23,11 @@ public class BaseEntity extends BaseTimeEntity {
     @LastModifiedBy
     private String lastModifiedBy;
 
+    /**
+     * 낙관적 락 버전. 수정 시 where 조건에 포함되며, 다른 트랜잭션이 먼저 수정한 경우
+     * OptimisticLockException 이 발생한다. (@RetryOnConflict 로 재시도)
+     */
+    @Version
+    private Long version;
+
 }
@@ -1,20 +1,49 @@
 package study.springjpa.model;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.NamedQuery;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostUpdate;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import study.springjpa.model.id.PooledSequenceIdGenerator;
+import study.springjpa.model.listener.MemberChangeListener;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member")
+@EntityListeners(MemberChangeListener.class)
+@Table(indexes = {
+    // name = ?, name = ? and age > ?
+    @Index(name = "idx_member_name_age", columnList = "name, age"),
+    // age = ? order by member_id, Keyset 페이징 (age, member_id)
+    @Index(name = "idx_member_age_id", columnList = "age, member_id"),
+    // Team 별 Member 조회, Fetch Join
+    @Index(name = "idx_member_team_id", columnList = "team_id"),
+    // max(last_modified_date) : 목록 ETag, Last-Modified
+    @Index(name = "idx_member_last_modified", columnList = "last_modified_date")
+})
 @Getter
 @NamedQuery(
     name = "Member.findByName",
@@ -25,7 +54,11 @@ import lombok.ToString;
 public class Member extends BaseEntity {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "member_seq_generator")
+    @GenericGenerator(name = "member_seq_generator", strategy = PooledSequenceIdGenerator.STRATEGY, parameters = {
+        @Parameter(name = "sequence_name", value = "member_seq"),
+        @Parameter(name = "increment_size", value = "50")
+    })
     @Column(name = "member_id")
     private Long id;
 
@@ -36,6 +69,12 @@ public class Member extends BaseEntity {
     @JoinColumn(name = "team_id")
     private Team team;
 
+    /**
+     * 조회 (저장, 수정) 시점의 팀. 팀 변경 시 이전 팀의 TeamRosterCache 를 비우기 위해 보관한다.
+     */
+    @Transient
+    private Team previousTeam;
+
     public Member(String name) {
         this(name, 0);
     }
@@ -50,7 +89,14 @@ public class Member extends BaseEntity {
         this.team = team;
     }
 
+    /**
+     * 팀 변경. 이전 팀의 members 는 이미 초기화된 경우에만 제거한다. (제거를 위해 전체를 조회하지 않는다)
+     * 초기화되지 않은 컬렉션은 다음 조회 시 DB 에서 가져오고, 캐시는 auto_evict_collection_cache 로 비워진다.
+     */
     public void changeTeam(Team team) {
+        if (this.team != null && Hibernate.isInitialized(this.team.getMembers())) {
+            this.team.getMembers().remove(this);
+        }
         this.team = team;
         team.getMembers().add(this);
     }
@@ -58,4 +104,11 @@ public class Member extends BaseEntity {
     public void changeName(String name) {
         this.name = name;
     }
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    private void rememberTeam() {
+        this.previousTeam = team;
+    }
 }
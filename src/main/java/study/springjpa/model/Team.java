@@ -3,29 +3,53 @@ package study.springjpa.model;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.Parameter;
+
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import study.springjpa.model.id.PooledSequenceIdGenerator;
+import study.springjpa.model.listener.TeamChangeListener;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team")
+@EntityListeners(TeamChangeListener.class)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
 public class Team extends BaseEntity {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "team_seq_generator")
+    @GenericGenerator(name = "team_seq_generator", strategy = PooledSequenceIdGenerator.STRATEGY, parameters = {
+        @Parameter(name = "sequence_name", value = "team_seq"),
+        @Parameter(name = "increment_size", value = "50")
+    })
     @Column(name = "team_id")
     private Long id;
     private String name;
 
+    /**
+     * 여러 Team 의 members 초기화시 default_batch_fetch_size 단위로 in 절로 묶어서 조회한다.
+     * 함께 조회해야 하는 경우 TeamRepository.findWithMembersByIdIn (fetch join) 을 사용한다.
+     * Member 의 팀 변경은 Team 의 버전을 올리지 않는다. (Team 수정과 충돌하지 않도록)
+     */
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team.members")
+    @OptimisticLock(excluded = true)
     @OneToMany(mappedBy = "team")
     private List<Member> members = new ArrayList<>();
 
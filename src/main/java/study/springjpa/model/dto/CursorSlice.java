@@ -0,0 +1,25 @@
+package study.springjpa.model.dto;
+
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * Keyset 페이징 응답 정보.
+ * count 쿼리 없이 다음 페이지 존재 여부와 다음 페이지 토큰만 전달한다.
+ *
+ * @param <T> 컨텐츠 타입.
+ */
+@Getter
+public class CursorSlice<T> {
+
+    private final List<T> content;
+    private final String next;
+    private final boolean hasNext;
+
+    public CursorSlice(List<T> content, String next) {
+        this.content = content;
+        this.next = next;
+        this.hasNext = next != null;
+    }
+}
@@ -0,0 +1,65 @@
+package study.springjpa.model.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import lombok.Getter;
+import lombok.ToString;
+import study.springjpa.model.Member;
+
+/**
+ * Keyset(Seek) 페이징에 사용되는 커서 정보.
+ * (age, member_id) 조합으로 마지막 조회 위치를 표현하며, 클라이언트에게는 불투명한 토큰으로 전달한다.
+ */
+@Getter
+@ToString(of = {"age", "id"})
+public class MemberCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private final int age;
+    private final Long id;
+
+    public MemberCursor(int age, Long id) {
+        this.age = age;
+        this.id = id;
+    }
+
+    /**
+     * 조회된 마지막 Member 기준으로 커서 생성.
+     * @param member    페이지의 마지막 Member.
+     * @return          다음 페이지 커서.
+     */
+    public static MemberCursor of(Member member) {
+        return new MemberCursor(member.getAge(), member.getId());
+    }
+
+    /**
+     * 커서를 토큰 문자열로 변환.
+     * @return          Base64(URL Safe) 토큰.
+     */
+    public String encode() {
+        String raw = age + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 토큰 문자열을 커서로 변환.
+     * @param token     encode() 로 생성된 토큰.
+     * @return          커서 정보.
+     * @throws IllegalArgumentException 토큰 형식이 잘못된 경우.
+     */
+    public static MemberCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.indexOf(SEPARATOR);
+            if (index < 0) {
+                throw new IllegalArgumentException("Invalid cursor : " + token);
+            }
+            return new MemberCursor(Integer.parseInt(raw.substring(0, index)), Long.valueOf(raw.substring(index + 1)));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException 포함.
+            throw new IllegalArgumentException("Invalid cursor : " + token, e);
+        }
+    }
+}
@@ -16,7 +16,7 @@ public class MemberDto {
     public MemberDto(Member member) {
         this.id = member.getId();
         this.name = member.getName();
-        this.teamName = member.getTeam().getName();
+        this.teamName = member.getTeam() == null ? null : member.getTeam().getName();
     }
 
     public MemberDto(Long id, String name, String teamName) {
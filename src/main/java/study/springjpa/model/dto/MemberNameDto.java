@@ -0,0 +1,21 @@
+package study.springjpa.model.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 클래스 기반 Projection.
+ * 생성자 파라미터 이름으로 조회할 속성을 결정한다. (select new ... 로 조회)
+ */
+@Getter
+@ToString(of = {"id", "name"})
+public class MemberNameDto {
+
+    private final Long id;
+    private final String name;
+
+    public MemberNameDto(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+}
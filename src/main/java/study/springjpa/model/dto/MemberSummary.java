@@ -0,0 +1,14 @@
+package study.springjpa.model.dto;
+
+/**
+ * 인터페이스 기반 Closed Projection.
+ * 선언된 속성만 select 절에 포함되며 Entity 를 생성하지 않는다.
+ */
+public interface MemberSummary {
+
+    Long getId();
+
+    String getName();
+
+    int getAge();
+}
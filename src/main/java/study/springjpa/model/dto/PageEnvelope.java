@@ -0,0 +1,38 @@
+package study.springjpa.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * REST 응답용 페이지.
+ * PageImpl 을 그대로 직렬화하면 pageable, sort 정보가 매 응답마다 중복으로 포함되기 때문에 필요한 값만 전달한다.
+ *
+ * @param <T> 컨텐츠 타입.
+ */
+@Getter
+@JsonPropertyOrder({"content", "page", "size", "totalElements", "hasNext"})
+public class PageEnvelope<T> {
+
+    private final List<T> content;
+    private final int page;
+    private final int size;
+    private final long totalElements;
+    private final boolean hasNext;
+
+    public PageEnvelope(List<T> content, int page, int size, long totalElements, boolean hasNext) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.hasNext = hasNext;
+    }
+
+    public static <T> PageEnvelope<T> of(Page<T> page) {
+        return new PageEnvelope<>(page.getContent(), page.getNumber(), page.getSize(),
+            page.getTotalElements(), page.hasNext());
+    }
+}
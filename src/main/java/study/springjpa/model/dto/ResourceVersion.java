@@ -0,0 +1,70 @@
+package study.springjpa.model.dto;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 조건부 요청 (ETag, Last-Modified) 판단용 버전 정보.
+ * Entity 를 조회하지 않고 version, lastModifiedDate 컬럼만 조회한다.
+ */
+@Getter
+@ToString
+public class ResourceVersion {
+
+    private final String tag;
+    private final LocalDateTime lastModifiedDate;
+
+    public ResourceVersion(String tag, LocalDateTime lastModifiedDate) {
+        this.tag = tag;
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
+    /**
+     * 단건 Entity 버전. (JPQL select new 용)
+     * id, version 이 같으면 응답이 byte 단위로 같기 때문에 Strong ETag 를 사용한다.
+     * @param id                Entity ID.
+     * @param version           BaseEntity.version.
+     * @param lastModifiedDate  BaseTimeEntity.lastModifiedDate.
+     */
+    public ResourceVersion(Long id, Long version, LocalDateTime lastModifiedDate) {
+        this("\"" + id + "-" + version + "\"", lastModifiedDate);
+    }
+
+    /**
+     * 목록 버전. (전체 수량 + 최종 수정 시각, 의미상 같은 응답)
+     * 페이지 번호, 크기는 그대로, 정렬은 요청 값이 그대로 헤더에 들어가지 않도록 MD5 로 표시한다.
+     * (hashCode 는 page=0,size=32 와 page=1,size=1 처럼 쉽게 충돌하여 다른 페이지에 304 를 응답할 수 있다)
+     * @param count             전체 수량.
+     * @param lastModifiedDate  최종 수정 시각.
+     * @param pageable          응답을 구분하는 페이지, 정렬.
+     * @return                  Weak ETag 버전.
+     */
+    public static ResourceVersion weak(long count, LocalDateTime lastModifiedDate, Pageable pageable) {
+        long modified = 0;
+        if (lastModifiedDate != null) {
+            Instant instant = lastModifiedDate.atZone(ZoneId.systemDefault()).toInstant();
+            modified = instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+        }
+        String page = pageable.isPaged() ? pageable.getPageNumber() + "-" + pageable.getPageSize() : "unpaged";
+        String sort = DigestUtils.md5DigestAsHex(pageable.getSort().toString().getBytes(StandardCharsets.UTF_8));
+        return new ResourceVersion("W/\"" + count + "-" + Long.toHexString(modified) + "-" + page + "-" + sort + "\"",
+            lastModifiedDate);
+    }
+
+    /**
+     * @return Last-Modified (epoch millis). 없으면 -1.
+     */
+    public long getLastModifiedMillis() {
+        return lastModifiedDate == null
+            ? -1
+            : lastModifiedDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
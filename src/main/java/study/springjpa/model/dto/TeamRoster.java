@@ -0,0 +1,44 @@
+package study.springjpa.model.dto;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 팀 소속 회원 목록. (TeamRosterCache 보관용)
+ * Entity, DTO 목록 대신 member_id, 이름 배열만 보관하여 캐시 메모리를 줄인다.
+ */
+@Getter
+@ToString(of = {"teamId"})
+public class TeamRoster {
+
+    private final Long teamId;
+    private final long[] memberIds;
+    private final String[] memberNames;
+
+    public TeamRoster(Long teamId, long[] memberIds, String[] memberNames) {
+        this.teamId = teamId;
+        this.memberIds = memberIds;
+        this.memberNames = memberNames;
+    }
+
+    /**
+     * @param teamId    team_id.
+     * @param members   member_id 순으로 정렬된 회원 목록.
+     * @return          팀 소속 회원 목록.
+     */
+    public static TeamRoster of(Long teamId, List<MemberNameDto> members) {
+        long[] ids = new long[members.size()];
+        String[] names = new String[members.size()];
+        for (int i = 0; i < members.size(); i++) {
+            ids[i] = members.get(i).getId();
+            names[i] = members.get(i).getName();
+        }
+        return new TeamRoster(teamId, ids, names);
+    }
+
+    public int getSize() {
+        return memberIds.length;
+    }
+}
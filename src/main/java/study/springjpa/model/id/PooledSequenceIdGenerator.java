@@ -0,0 +1,89 @@
+package study.springjpa.model.id;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Entity 별 sequence 와 pooled-lo optimizer 를 사용하는 ID 생성기.
+ * 노드마다 increment_size 만큼의 ID 구간을 sequence 한번으로 예약하고, 구간 안에서는 메모리에서 할당한다.
+ * <pre>
+ *     &#64;GeneratedValue(generator = "member_seq_generator")
+ *     &#64;GenericGenerator(name = "member_seq_generator", strategy = PooledSequenceIdGenerator.STRATEGY, parameters = {
+ *         &#64;Parameter(name = "sequence_name", value = "member_seq"),
+ *         &#64;Parameter(name = "increment_size", value = "50")
+ *     })
+ * </pre>
+ * 설정 (spring.jpa.properties)
+ * <pre>
+ *     id.generator.mode                        : sequence (기본) - sequence, pooled-lo.
+ *                                                time            - DB 를 거치지 않는 시간 순서 ID. (TimeOrderedIds)
+ *     id.generator.node_id                     : time 모드의 노드 번호. (0 ~ 1023, 노드마다 달라야 한다)
+ *                                                time 모드에서는 필수. 기본값을 두면 노드끼리 ID 가 충돌하므로 없으면 기동에 실패한다.
+ *     id.generator.{sequence_name}.increment_size : 예약 구간 크기. (DB sequence 의 increment by 와 같아야 한다)
+ * </pre>
+ * time 모드의 ID 는 sequence 값보다 항상 크기 때문에 운영 중 sequence 에서 전환할 수 있다. (반대는 불가)
+ */
+public class PooledSequenceIdGenerator extends SequenceStyleGenerator {
+
+    public static final String STRATEGY = "study.springjpa.model.id.PooledSequenceIdGenerator";
+
+    public static final String SETTING_PREFIX = "id.generator.";
+    public static final String MODE_SETTING = SETTING_PREFIX + "mode";
+    public static final String NODE_ID_SETTING = SETTING_PREFIX + "node_id";
+    public static final String INCREMENT_SETTING_SUFFIX = ".increment_size";
+
+    public enum Mode {
+        SEQUENCE, TIME
+    }
+
+    /**
+     * time 모드에서만 사용한다.
+     */
+    private TimeOrderedIds timeOrderedIds;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) {
+        Map<?, ?> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+
+        String sequenceName = params.getProperty(SEQUENCE_PARAM);
+        String incrementSize = ConfigurationHelper.getString(SETTING_PREFIX + sequenceName + INCREMENT_SETTING_SUFFIX, settings);
+        if (incrementSize != null) {
+            params.setProperty(INCREMENT_PARAM, incrementSize);
+        }
+        params.putIfAbsent(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+
+        // time 모드에서도 sequence 는 생성한다. (ddl-auto, validate 및 sequence 모드로 되돌릴 때 사용)
+        super.configure(type, params, serviceRegistry);
+
+        Mode mode = Mode.valueOf(ConfigurationHelper.getString(MODE_SETTING, settings, "sequence").toUpperCase(Locale.ROOT));
+        if (mode == Mode.TIME) {
+            if (!Long.class.equals(type.getReturnedClass())) {
+                throw new HibernateException("time ordered id requires Long identifier : " + params.getProperty(ENTITY_NAME));
+            }
+            Integer nodeId = ConfigurationHelper.getInteger(NODE_ID_SETTING, settings);
+            if (nodeId == null) {
+                throw new HibernateException(NODE_ID_SETTING + " is required in time mode : " + params.getProperty(ENTITY_NAME));
+            }
+            timeOrderedIds = new TimeOrderedIds(nodeId);
+        }
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        if (timeOrderedIds != null) {
+            return timeOrderedIds.next();
+        }
+        return super.generate(session, object);
+    }
+}
@@ -0,0 +1,64 @@
+package study.springjpa.model.id;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 시간 순서 64 bit ID. (Snowflake 방식)
+ * <pre>
+ *     | 0 | 41 bit : EPOCH 이후 ms | 10 bit : node id | 12 bit : ms 내 순번 |
+ * </pre>
+ * 노드마다 node id 가 다르면 DB 를 거치지 않고 중복 없는 ID 를 만들 수 있다.
+ * 같은 ms 에 4096 개를 넘거나 시계가 뒤로 가면 다음 ms 를 미리 사용한다. (항상 증가)
+ */
+public final class TimeOrderedIds {
+
+    /**
+     * 2020-01-01T00:00:00Z. 이후 약 69년 사용 가능.
+     */
+    public static final long EPOCH = 1_577_836_800_000L;
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    private final LongSupplier clock;
+
+    private long lastMillis = -1;
+    private long sequence;
+
+    public TimeOrderedIds(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    TimeOrderedIds(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID + " : " + nodeId);
+        }
+        this.node = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    public synchronized long next() {
+        long millis = Math.max(clock.getAsLong() - EPOCH, lastMillis);
+        if (millis == lastMillis) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                millis++;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastMillis = millis;
+        return millis << (NODE_BITS + SEQUENCE_BITS) | node | sequence;
+    }
+
+    public static int nodeId(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+
+    public static long epochMillis(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+}
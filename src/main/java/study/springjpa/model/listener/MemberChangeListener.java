@@ -0,0 +1,55 @@
+package study.springjpa.model.listener;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import javax.persistence.PersistenceUnitUtil;
+
+import study.springjpa.model.Member;
+import study.springjpa.model.Team;
+import study.springjpa.repository.support.CountCache;
+import study.springjpa.repository.support.TeamRosterCache;
+
+/**
+ * Member 변경 (저장, 수정, 삭제) 시 관련 캐시를 비우는 Entity Listener.
+ * 트랜잭션 안에서는 각 캐시가 Entity, 팀마다 한번만 비우기 때문에 건별 호출 비용이 일정하다.
+ * Hibernate 가 SpringBeanContainer 로 생성하기 때문에 Spring Bean 을 주입받을 수 있다.
+ */
+public class MemberChangeListener {
+
+    private final CountCache countCache;
+    private final TeamRosterCache teamRosterCache;
+    private final PersistenceUnitUtil persistenceUnitUtil;
+
+    public MemberChangeListener(CountCache countCache, TeamRosterCache teamRosterCache, EntityManagerFactory emf) {
+        this.countCache = countCache;
+        this.teamRosterCache = teamRosterCache;
+        this.persistenceUnitUtil = emf.getPersistenceUnitUtil();
+    }
+
+    @PostPersist
+    @PostRemove
+    public void changed(Member member) {
+        countCache.invalidate(Member.class);
+        teamRosterCache.invalidate(teamId(member.getTeam()));
+    }
+
+    /**
+     * 팀 변경인 경우 이전 팀 목록도 비운다.
+     * Member 의 PostUpdate (previousTeam 갱신) 보다 먼저 호출된다.
+     */
+    @PostUpdate
+    public void updated(Member member) {
+        countCache.invalidate(Member.class);
+        teamRosterCache.invalidate(teamId(member.getPreviousTeam()));
+        teamRosterCache.invalidate(teamId(member.getTeam()));
+    }
+
+    /**
+     * 지연 로딩 프록시를 초기화하지 않고 team_id 를 가져온다.
+     */
+    private Long teamId(Team team) {
+        return team == null ? null : (Long) persistenceUnitUtil.getIdentifier(team);
+    }
+}
@@ -0,0 +1,24 @@
+package study.springjpa.model.listener;
+
+import javax.persistence.PostRemove;
+
+import study.springjpa.model.Team;
+import study.springjpa.repository.support.TeamRosterCache;
+
+/**
+ * Team 삭제 시 소속 회원 목록 캐시를 비우는 Entity Listener.
+ * Hibernate 가 SpringBeanContainer 로 생성하기 때문에 Spring Bean 을 주입받을 수 있다.
+ */
+public class TeamChangeListener {
+
+    private final TeamRosterCache teamRosterCache;
+
+    public TeamChangeListener(TeamRosterCache teamRosterCache) {
+        this.teamRosterCache = teamRosterCache;
+    }
+
+    @PostRemove
+    public void removed(Team team) {
+        teamRosterCache.invalidate(team.getId());
+    }
+}
@@ -1,7 +1,10 @@
 package study.springjpa.repository;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,6 +12,8 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 
 import study.springjpa.model.Member;
+import study.springjpa.repository.support.CountCache;
+import study.springjpa.repository.support.MultiIdLoader;
 
 /**
  * JPA Repository 이용한 CRUD 기본 인터페이스 생성. For Example:
@@ -35,6 +40,18 @@ public class MemberJpaRepository {
     @PersistenceContext
     private EntityManager em;
 
+    /**
+     * 다건 조회 시 한번에 조회하는 in 절 수량.
+     */
+    @Value("${multi-load.batch-size:1000}")
+    private int multiLoadBatchSize;
+
+    /**
+     * 벌크 수정 후 비워야 하는 count 캐시.
+     */
+    @Autowired
+    private CountCache countCache;
+
     /**
      * Member 저장.
      *
@@ -56,6 +73,17 @@ public class MemberJpaRepository {
         return em.find(Member.class, id);
     }
 
+    /**
+     * 여러 Id 값을 이용한 Member 정보조회.
+     * in 절로 묶어서 조회하며, 영속성 컨텍스트에 이미 있는 Member 는 다시 조회하지 않는다.
+     *
+     * @param ids ( member_id 목록 )
+     * @return 입력 순서대로 정렬된 Member 목록. (존재하지 않는 Id 는 제외)
+     */
+    public List<Member> findAllByIdsOrdered(Collection<Long> ids) {
+        return MultiIdLoader.load(em, Member.class, ids, multiLoadBatchSize);
+    }
+
     /**
      * 회원 정보를 삭제한다.
      *
@@ -134,14 +162,19 @@ public class MemberJpaRepository {
 
     /**
      * 벌크성 update Query 일괄작업을 할때 사용.
+     * 영속성 컨텍스트를 거치지 않기 때문에 수행 후 영속성 컨텍스트를 비운다.
      * @param age       나이.
      * @return          변환된 개수를 반환.
      */
     int bulkAgePlus(int age) {
-
-        return em.createQuery("update Member m set m.age = m.age + 1 where m.age >= :age")
+        em.flush();
+        int count = em.createQuery("update versioned Member m set m.age = m.age + 1,"
+                + " m.lastModifiedDate = current_timestamp where m.age >= :age")
             .setParameter("age", age)
             .executeUpdate();
+        em.clear();
+        countCache.invalidate(Member.class);
+        return count;
     }
 
 
@@ -11,22 +11,29 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import javax.persistence.QueryHint;
 
 import study.springjpa.model.Member;
 import study.springjpa.model.dto.MemberDto;
+import study.springjpa.model.dto.MemberNameDto;
+import study.springjpa.model.dto.MemberSummary;
+import study.springjpa.model.dto.ResourceVersion;
 import study.springjpa.repository.custom.MemberRepositoryCustom;
 
 public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom {
 
     /**
      * 이름으로 검색하여 가져올때 인터페이스 선언.
+     * 조회 결과는 Query Cache 에 저장된다.
      * @param name 검색하고자 하는 이름.
      * @return 찾는 경우 해당 Member Object.
      */
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Member> findByName(String name);
 
     /**
@@ -78,6 +85,7 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
      * @param name  검색하고자 하는 이름.
      * @return      검색된 Member 리스트.
      */
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(name = "Member.findByName")
     List<Member> findByUsername(@Param("name") String name);
 
@@ -105,9 +113,81 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @Query("select new study.springjpa.model.dto.MemberDto(m.id, m.name, t.name) from Member m join m.team t")
     List<MemberDto> findMemberDtoList();
 
+    /**
+     * 동적 Projection. 반환 타입에 따라 필요한 컬럼만 조회한다.
+     * Entity 클래스를 넘기면 기존과 같이 Entity 로 조회된다.
+     * @param id        member_id.
+     * @param type      Projection 타입. (MemberSummary, MemberNameDto ...)
+     * @param <T>       Projection 타입.
+     * @return          조회된 Projection.
+     */
+    <T> Optional<T> findProjectionById(Long id, Class<T> type);
+
+    /**
+     * 이름으로 동적 Projection 조회.
+     * @param name      검색하는 이름.
+     * @param type      Projection 타입.
+     * @param <T>       Projection 타입.
+     * @return          조회된 Projection 리스트.
+     */
+    <T> List<T> findProjectionByName(String name, Class<T> type);
+
+    /**
+     * 전체 회원을 MemberSummary 로 페이징 조회. 영속성 컨텍스트에 Entity 가 쌓이지 않는다.
+     * @param pageable  페이지 정보.
+     * @return          조회된 페이지.
+     */
+    Page<MemberSummary> findAllProjectedBy(Pageable pageable);
+
+    /**
+     * 전체 회원을 MemberSummary 로 조회. count 쿼리를 수행하지 않는다. (MemberPageService 에서 count 처리)
+     * @param pageable  페이지 정보.
+     * @return          조회된 리스트.
+     */
+    List<MemberSummary> findSummaryListBy(Pageable pageable);
+
+    /**
+     * 전체 회원 정보를 Stream 으로 조회. (대량 Export 용도)
+     * List 로 한번에 적재하지 않고 JDBC fetch size 단위로 커서를 이동하며 가져온다.
+     * DTO 로 바로 조회하기 때문에 영속성 컨텍스트에 Entity 가 쌓이지 않는다.
+     * 반드시 트랜잭션 안에서 사용하고, 사용 후 Stream 을 close 해야 한다.
+     * @return MemberDto Stream.
+     */
+    @QueryHints(value = @QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select new study.springjpa.model.dto.MemberDto(m.id, m.name, t.name)"
+        + " from Member m left join m.team t order by m.id")
+    Stream<MemberDto> streamMemberDtoAll();
+
+    /**
+     * 조건부 요청 (ETag, Last-Modified) 판단용 버전 조회. Member 를 조회하지 않는다.
+     * @param id        member_id.
+     * @return          버전 정보.
+     */
+    @Query("select new study.springjpa.model.dto.ResourceVersion(m.id, m.version, m.lastModifiedDate)"
+        + " from Member m where m.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * 최종 수정 시각. (idx_member_last_modified 인덱스의 마지막 값)
+     * @return          최종 수정 시각. 회원이 없으면 null.
+     */
+    @Query("select max(m.lastModifiedDate) from Member m")
+    LocalDateTime findLastModifiedDate();
+
+    /**
+     * 팀 소속 회원의 member_id, 이름 조회. (TeamRosterCache 적재용)
+     * @param teamId    team_id.
+     * @return          member_id 순으로 정렬된 목록.
+     */
+    @Query("select new study.springjpa.model.dto.MemberNameDto(m.id, m.name)"
+        + " from Member m where m.team.id = :teamId order by m.id")
+    List<MemberNameDto> findRosterByTeamId(@Param("teamId") Long teamId);
+
     /**
      * Collection 타입으로 in 절 지원.
      * Collection 파라미터 바인딩.
+     * in_clause_parameter_padding 설정으로 파라미터 개수가 2의 거듭제곱으로 맞춰지기 때문에
+     * 리스트 크기가 달라도 Query Plan, PreparedStatement 가 재사용된다.
      * @param names List 이름 리스트.
      * @return List Member Entity.
      */
@@ -130,6 +210,35 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
      */
     Slice<Member> findSliceByAge(int age, Pageable pageable);
 
+    /**
+     * 나이 조건 count.
+     * @param age           나이.
+     * @return              조건에 해당하는 수량.
+     */
+    long countByAge(int age);
+
+    /**
+     * Keyset(Seek) 페이징 첫 페이지.
+     * (age, member_id) 순으로 정렬하며 count 쿼리 없이 limit + 1 만 조회한다.
+     * @param pageable      페이지 정보. (page 는 항상 0, size 만 사용)
+     * @return              검색된 리스트.
+     */
+    @Query("select m from Member m left join fetch m.team order by m.age asc, m.id asc")
+    Slice<Member> findSliceOrderByAgeAndId(Pageable pageable);
+
+    /**
+     * Keyset(Seek) 페이징 다음 페이지.
+     * offset 대신 마지막 조회 위치 (age, member_id) 이후부터 조회하기 때문에 페이지 깊이와 무관하게 비용이 일정하다.
+     * @param age           마지막으로 조회된 나이.
+     * @param id            마지막으로 조회된 member_id.
+     * @param pageable      페이지 정보. (page 는 항상 0, size 만 사용)
+     * @return              검색된 리스트.
+     */
+    @Query("select m from Member m left join fetch m.team"
+        + " where m.age > :age or (m.age = :age and m.id > :id)"
+        + " order by m.age asc, m.id asc")
+    Slice<Member> findSliceByAgeAndIdAfter(@Param("age") int age, @Param("id") Long id, Pageable pageable);
+
     /**
      * 나이 조건을 이용하여 페이지 찾아오기 위한 인터페이스.
      * @param age           나이.
@@ -159,11 +268,16 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
 
     /**
      * Modifying 애노테이션이 있어야 에러가 발생하지 않는다.
+     * 수정 전 변경 내용을 flush 하고, 수정 후 영속성 컨텍스트를 비워서 이전 값이 남지 않도록 한다.
+     * 대량 수정은 MemberAgeBulkUpdater 를 사용한다.
+     * versioned : 수정된 Member 의 version 도 증가시켜서, 같은 Member 를 수정중인 트랜잭션이 충돌을 감지하도록 한다.
+     * Auditing 을 거치지 않기 때문에 lastModifiedDate 를 직접 갱신한다. (ETag, Last-Modified)
      * @param age           나이 조건.
      * @return              조건에 의해 update 수행이 된 row 수량 반환.
      */
-    @Modifying
-    @Query("update Member m set m.age = m.age + 1 where m.age > :age")
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned Member m set m.age = m.age + 1, m.lastModifiedDate = current_timestamp"
+        + " where m.age > :age")
     int bulkUpdateAge(@Param("age") int age);
 
 
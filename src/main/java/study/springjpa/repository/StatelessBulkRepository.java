@@ -0,0 +1,182 @@
+package study.springjpa.repository;
+
+import org.hibernate.Cache;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.persistence.EntityManagerFactory;
+
+import study.springjpa.model.BaseEntity;
+import study.springjpa.model.Member;
+import study.springjpa.model.Team;
+import study.springjpa.repository.support.CountCache;
+import study.springjpa.repository.support.TeamRosterCache;
+
+/**
+ * StatelessSession 을 이용한 대량 저장, 수정, 조회. (ETL, 배치 작업 용도)
+ * <pre>
+ *     * 영속성 컨텍스트 (1차 캐시, 스냅샷, Dirty Checking) 를 사용하지 않기 때문에 건수와 상관없이 Heap 사용량이 일정하다.
+ *     * 호출마다 별도의 Connection, 트랜잭션으로 수행한다. (진행중인 Spring 트랜잭션에 참여하지 않는다)
+ *     * Entity Listener 가 호출되지 않기 때문에 Auditing (BaseEntity) 은 AuditingHandler 로 직접 채운다.
+ *     * 2차 캐시를 거치지 않기 때문에 수정 후 해당 Entity 의 캐시 및 Query Cache 를 비운다.
+ *     * 조회된 Entity 의 지연 로딩 연관관계 (Member.team 등) 는 초기화할 수 없다.
+ * </pre>
+ *
+ * <pre>
+ *     statelessBulkRepository.insertAll(members);
+ *     statelessBulkRepository.scrollAll(Member.class, member -> writer.write(member));
+ * </pre>
+ */
+@Repository
+public class StatelessBulkRepository {
+
+    private final SessionFactory sessionFactory;
+    private final AuditingHandler auditingHandler;
+    private final CountCache countCache;
+    private final TeamRosterCache teamRosterCache;
+
+    /**
+     * scroll 조회시 JDBC fetch size.
+     */
+    private final int fetchSize;
+
+    public StatelessBulkRepository(EntityManagerFactory emf,
+                                   AuditingHandler auditingHandler,
+                                   CountCache countCache,
+                                   TeamRosterCache teamRosterCache,
+                                   @Value("${stateless-bulk.fetch-size:500}") int fetchSize) {
+        this.sessionFactory = emf.unwrap(SessionFactory.class);
+        this.auditingHandler = auditingHandler;
+        this.countCache = countCache;
+        this.teamRosterCache = teamRosterCache;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * 대량 저장. 생성자, 생성일시, 수정자, 수정일시를 채운다.
+     * @param entities      저장하고자 하는 Entity 목록.
+     * @param <T>           Entity 타입.
+     * @return              저장 건수.
+     */
+    public <T extends BaseEntity> long insertAll(Iterable<T> entities) {
+        return write(entities, (session, entity) -> {
+            auditingHandler.markCreated(entity);
+            session.insert(entity);
+        });
+    }
+
+    /**
+     * 대량 수정. 수정자, 수정일시를 채우고 version 을 비교한다. (충돌 시 StaleStateException)
+     * @param entities      수정하고자 하는 Entity 목록. (준영속 상태)
+     * @param <T>           Entity 타입.
+     * @return              수정 건수.
+     */
+    public <T extends BaseEntity> long updateAll(Iterable<T> entities) {
+        return write(entities, (session, entity) -> {
+            auditingHandler.markModified(entity);
+            session.update(entity);
+        });
+    }
+
+    /**
+     * Entity 전체를 id 순으로 조회하며 한건씩 전달한다.
+     * @param type          Entity 타입.
+     * @param consumer      조회된 Entity 처리.
+     * @param <T>           Entity 타입.
+     * @return              조회 건수.
+     */
+    public <T> long scrollAll(Class<T> type, Consumer<? super T> consumer) {
+        return scroll("select e from " + type.getSimpleName() + " e order by e.id", Map.of(), type, consumer);
+    }
+
+    /**
+     * JPQL 조회 결과를 한건씩 전달한다.
+     * @param query         JPQL.
+     * @param params        이름 기반 파라미터.
+     * @param type          결과 타입.
+     * @param consumer      조회된 결과 처리.
+     * @param <T>           결과 타입.
+     * @return              조회 건수.
+     */
+    public <T> long scroll(String query, Map<String, ?> params, Class<T> type, Consumer<? super T> consumer) {
+        return execute(session -> {
+            Query<T> hqlQuery = session.createQuery(query, type)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true);
+            params.forEach(hqlQuery::setParameter);
+
+            long count = 0;
+            try (ScrollableResults results = hqlQuery.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    consumer.accept(type.cast(results.get(0)));
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    private <T extends BaseEntity> long write(Iterable<T> entities, EntityWriter writer) {
+        Set<Class<?>> written = new HashSet<>();
+        long count = execute(session -> {
+            long rows = 0;
+            for (T entity : entities) {
+                writer.write(session, entity);
+                written.add(entity.getClass());
+                rows++;
+            }
+            return rows;
+        });
+        written.forEach(this::evictCaches);
+        return count;
+    }
+
+    private <R> R execute(Function<StatelessSession, R> work) {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                R result = work.apply(session);
+                transaction.commit();
+                return result;
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * StatelessSession 은 2차 캐시, Query Cache, Entity Listener 를 거치지 않기 때문에 직접 비운다.
+     * 변경 전 팀을 알 수 없기 때문에 TeamRosterCache 는 전체를 비운다.
+     */
+    private void evictCaches(Class<?> entityClass) {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(entityClass);
+        cache.evictQueryRegions();
+        if (Member.class.isAssignableFrom(entityClass)) {
+            cache.evictCollectionData(Team.class.getName() + ".members");
+            countCache.invalidate(Member.class);
+            teamRosterCache.invalidateAll();
+        }
+    }
+
+    @FunctionalInterface
+    private interface EntityWriter {
+        void write(StatelessSession session, BaseEntity entity);
+    }
+}
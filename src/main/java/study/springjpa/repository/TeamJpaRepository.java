@@ -1,7 +1,9 @@
 package study.springjpa.repository;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,6 +11,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 
 import study.springjpa.model.Team;
+import study.springjpa.repository.support.MultiIdLoader;
 
 /**
  * JPA Repository 이용한 CRUD 기본 인터페이스 생성. For Example:
@@ -35,6 +38,12 @@ public class TeamJpaRepository {
     @PersistenceContext
     private EntityManager em;
 
+    /**
+     * 다건 조회 시 한번에 조회하는 in 절 수량.
+     */
+    @Value("${multi-load.batch-size:1000}")
+    private int multiLoadBatchSize;
+
     /**
      * Team 저장.
      *
@@ -57,6 +66,17 @@ public class TeamJpaRepository {
         return em.find(Team.class, id);
     }
 
+    /**
+     * 여러 Id 값을 이용한 Team 정보조회.
+     * in 절로 묶어서 조회하며, 영속성 컨텍스트에 이미 있는 Team 는 다시 조회하지 않는다.
+     *
+     * @param ids ( team_id 목록 )
+     * @return 입력 순서대로 정렬된 Team 목록. (존재하지 않는 Id 는 제외)
+     */
+    public List<Team> findAllByIdsOrdered(Collection<Long> ids) {
+        return MultiIdLoader.load(em, Team.class, ids, multiLoadBatchSize);
+    }
+
     /**
      * 회원 정보를 삭제한다.
      *
@@ -1,9 +1,23 @@
 package study.springjpa.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 import study.springjpa.model.Team;
+import study.springjpa.repository.custom.TeamRepositoryCustom;
 
-public interface TeamRepository extends JpaRepository<Team, Long> {
+public interface TeamRepository extends JpaRepository<Team, Long>, TeamRepositoryCustom {
 
+    /**
+     * Team 과 members 를 fetch join 으로 한번에 조회.
+     * 컬렉션 fetch join 은 페이징 (limit, offset) 을 할 수 없으므로 ID 목록으로만 조회한다.
+     * @param ids       team_id 목록.
+     * @return          members 가 초기화된 Team 목록. (중복 제거)
+     */
+    @Query("select distinct t from Team t left join fetch t.members where t.id in :ids")
+    List<Team> findWithMembersByIdIn(@Param("ids") Collection<Long> ids);
 }
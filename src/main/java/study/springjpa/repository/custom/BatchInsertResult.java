@@ -0,0 +1,33 @@
+package study.springjpa.repository.custom;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 대량 저장 결과 정보.
+ */
+@Getter
+@ToString(of = {"count", "elapsedNanos"})
+public class BatchInsertResult {
+
+    private final long count;
+    private final long elapsedNanos;
+
+    public BatchInsertResult(long count, long elapsedNanos) {
+        this.count = count;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * 초당 저장 건수.
+     * @return rows/sec.
+     */
+    public double getRowsPerSecond() {
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        return count * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
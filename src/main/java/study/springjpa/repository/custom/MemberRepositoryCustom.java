@@ -1,6 +1,13 @@
 package study.springjpa.repository.custom;
 
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+import javax.persistence.Tuple;
 
 import study.springjpa.model.Member;
 
@@ -8,4 +15,51 @@ public interface MemberRepositoryCustom {
 
     List<Member> findMemberCustom();
 
+    /**
+     * 여러 member_id 로 한번에 조회.
+     * multi-load.batch-size 단위로 in 절을 묶어서 조회하고,
+     * 영속성 컨텍스트, 2차 캐시에 이미 있는 Member 는 DB 에서 조회하지 않는다.
+     * @param ids       member_id 목록.
+     * @return          입력 순서대로 정렬된 Member 목록. (존재하지 않는 ID 는 제외)
+     */
+    List<Member> findAllByIdsOrdered(Collection<Long> ids);
+
+    /**
+     * Tuple 로 필요한 컬럼만 조회 후 원하는 타입으로 변환.
+     * 사용 가능한 alias : id, name, age, teamName
+     * @param pageable  페이지 정보. 정렬은 alias 기준이며 없으면 id 순이다. (같은 값은 id 순)
+     * @param mapper    Tuple 변환 함수.
+     * @param <T>       변환 타입.
+     * @return          변환된 리스트.
+     * @throws org.springframework.dao.InvalidDataAccessApiUsageException 사용할 수 없는 alias 로 정렬한 경우.
+     *         (IllegalArgumentException 을 Repository 예외 변환으로 감싼 예외)
+     */
+    <T> List<T> findMemberTuples(Pageable pageable, Function<Tuple, T> mapper);
+
+    /**
+     * JDBC batch 를 이용한 대량 저장.
+     * batch_size 단위로 flush 후 저장한 Member 를 준영속 상태로 만들어 영속성 컨텍스트가 커지지 않도록 한다.
+     * 호출한 쪽의 영속성 컨텍스트에 있던 다른 Entity 는 그대로 관리된다. (clear 하지 않는다)
+     * 저장된 Member 는 준영속 상태이므로 이후 변경은 반영되지 않는다. (merge 필요)
+     * @param members   저장하고자 하는 Member 목록.
+     * @return          저장 건수 및 소요 시간.
+     */
+    BatchInsertResult saveAllBatched(Iterable<Member> members);
+
+    /**
+     * 전체 회원을 건수가 같은 member_id 구간으로 나누어 병렬로 조회하고 결과를 합친다.
+     * 구간마다 별도의 EntityManager (Connection) 를 사용하며, 조회된 Member 는 읽기 전용이다.
+     * <pre>
+     *     long totalAge = memberRepository.scanPartitioned(8, Collectors.summingLong(Member::getAge));
+     * </pre>
+     * @param partitions    구간 수. (1 이상)
+     * @param collector     구간별 집계 및 병합 방법. (combiner 로 구간 결과를 합친다)
+     * @param <A>           중간 집계 타입.
+     * @param <R>           결과 타입.
+     * @return              집계 결과.
+     * @throws org.springframework.dao.InvalidDataAccessApiUsageException partitions 가 1 보다 작은 경우.
+     *         (IllegalArgumentException 을 Repository 예외 변환으로 감싼 예외)
+     */
+    <A, R> R scanPartitioned(int partitions, Collector<? super Member, A, R> collector);
+
 }
@@ -1,25 +1,258 @@
 package study.springjpa.repository.custom;
 
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Tuple;
 
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import study.springjpa.model.Member;
+import study.springjpa.repository.support.MultiIdLoader;
 
 /**
  * 사용자 구현 클래스.
  * * 규칙 : 리포지토리 인터페이스 이름 + Impl
  * * 스프링 데이터 JPA 인식해서 스프링 빈으로 등록.
  */
-@RequiredArgsConstructor
+@Slf4j
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
+    /**
+     * findMemberTuples 정렬에 사용할 수 있는 alias 와 JPQL 경로.
+     */
+    private static final Map<String, String> TUPLE_SORT_PATHS = Map.of(
+        "id", "m.id",
+        "name", "m.name",
+        "age", "m.age",
+        "teamName", "t.name");
+
     private final EntityManager em;
+    private final EntityManagerFactory emf;
+    private final ExecutorService partitionScanExecutor;
+
+    /**
+     * flush, detach 단위. hibernate.jdbc.batch_size 와 동일하게 맞춘다.
+     */
+    private final int batchSize;
+
+    /**
+     * 다건 조회 시 한번에 조회하는 in 절 수량.
+     */
+    private final int multiLoadBatchSize;
+
+    /**
+     * 동시에 조회하는 구간 수. (사용하는 Connection 수)
+     */
+    private final Semaphore scanPermits;
+
+    public MemberRepositoryImpl(EntityManager em,
+                                EntityManagerFactory emf,
+                                @Qualifier("partitionScanExecutor") ExecutorService partitionScanExecutor,
+                                @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize,
+                                @Value("${partition-scan.max-concurrency:4}") int maxConcurrency,
+                                @Value("${multi-load.batch-size:1000}") int multiLoadBatchSize) {
+        this.em = em;
+        this.emf = emf;
+        this.partitionScanExecutor = partitionScanExecutor;
+        this.batchSize = batchSize;
+        this.multiLoadBatchSize = multiLoadBatchSize;
+        this.scanPermits = new Semaphore(maxConcurrency);
+    }
 
     @Override
     public List<Member> findMemberCustom() {
         return em.createQuery("select m from Member m", Member.class)
             .getResultList();
     }
+
+    @Override
+    public List<Member> findAllByIdsOrdered(Collection<Long> ids) {
+        return MultiIdLoader.load(em, Member.class, ids, multiLoadBatchSize);
+    }
+
+    @Override
+    public <T> List<T> findMemberTuples(Pageable pageable, Function<Tuple, T> mapper) {
+        return em.createQuery("select m.id as id, m.name as name, m.age as age, t.name as teamName"
+                + " from Member m left join m.team t order by " + tupleOrderBy(pageable.getSort()), Tuple.class)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultStream()
+            .map(mapper)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Tuple alias 기준 정렬을 JPQL order by 로 변환한다. 페이지가 흔들리지 않도록 마지막에 m.id 를 추가한다.
+     * @throws IllegalArgumentException 사용할 수 없는 alias 로 정렬한 경우.
+     */
+    private static String tupleOrderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        boolean orderedById = false;
+        for (Sort.Order order : sort) {
+            String path = TUPLE_SORT_PATHS.get(order.getProperty());
+            if (path == null) {
+                throw new IllegalArgumentException("unsupported sort property : " + order.getProperty()
+                    + " (available : " + TUPLE_SORT_PATHS.keySet() + ")");
+            }
+            orderedById |= "m.id".equals(path);
+            StringBuilder clause = new StringBuilder(order.isIgnoreCase() ? "lower(" + path + ")" : path)
+                .append(order.isAscending() ? " asc" : " desc");
+            if (order.getNullHandling() == Sort.NullHandling.NULLS_FIRST) {
+                clause.append(" nulls first");
+            } else if (order.getNullHandling() == Sort.NullHandling.NULLS_LAST) {
+                clause.append(" nulls last");
+            }
+            orders.add(clause.toString());
+        }
+        if (!orderedById) {
+            orders.add("m.id asc");
+        }
+        return String.join(", ", orders);
+    }
+
+    @Override
+    @Transactional
+    public BatchInsertResult saveAllBatched(Iterable<Member> members) {
+        long start = System.nanoTime();
+        long count = 0;
+        List<Member> batch = new ArrayList<>(batchSize);
+        for (Member member : members) {
+            em.persist(member);
+            batch.add(member);
+            count++;
+            if (batch.size() == batchSize) {
+                flushAndDetach(batch);
+            }
+        }
+        flushAndDetach(batch);
+
+        BatchInsertResult result = new BatchInsertResult(count, System.nanoTime() - start);
+        log.info("saveAllBatched count={}, rows/sec={}", count, String.format("%.1f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    /**
+     * 저장한 Member 만 준영속 상태로 만든다. (em.clear 는 호출한 쪽이 관리하는 Entity 까지 분리한다)
+     */
+    private void flushAndDetach(List<Member> batch) {
+        em.flush();
+        batch.forEach(em::detach);
+        batch.clear();
+    }
+
+    @Override
+    public <A, R> R scanPartitioned(int partitions, Collector<? super Member, A, R> collector) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("partitions must be positive : " + partitions);
+        }
+        long count = em.createQuery("select count(m) from Member m", Long.class).getSingleResult();
+        if (count == 0) {
+            return finish(collector, collector.supplier().get());
+        }
+
+        List<CompletableFuture<A>> futures = new ArrayList<>();
+        for (long[] range : partitionRanges(count, partitions)) {
+            futures.add(CompletableFuture.supplyAsync(() -> scanPartition(range[0], range[1], collector),
+                partitionScanExecutor));
+        }
+
+        A result = null;
+        for (CompletableFuture<A> future : futures) {
+            A partial = future.join();
+            result = result == null ? partial : collector.combiner().apply(result, partial);
+        }
+        return finish(collector, result);
+    }
+
+    /**
+     * 건수가 같도록 member_id 구간을 나눈다. (min ~ max 산술은 비어 있는 ID 가 많으면 한쪽 구간에 몰린다)
+     * 이전 경계 다음부터 구간 건수 번째 member_id 를 keyset 으로 찾기 때문에 전체 index 를 한번만 읽는다.
+     * 마지막 구간은 상한이 없어서 경계 계산 후 추가된 Member 도 조회된다.
+     * @return  [시작 member_id (미포함), 종료 member_id (포함)] 목록. 건수가 구간 수보다 적으면 건수만큼.
+     */
+    private List<long[]> partitionRanges(long count, int partitions) {
+        List<long[]> ranges = new ArrayList<>();
+        long from = Long.MIN_VALUE;
+        long position = 0;
+        for (int partition = 1; partition < partitions; partition++) {
+            long end = count * partition / partitions;
+            if (end == position) {
+                continue;
+            }
+            List<Long> ids = em.createQuery("select m.id from Member m where m.id > :from order by m.id", Long.class)
+                .setParameter("from", from)
+                .setFirstResult(Math.toIntExact(end - position - 1))
+                .setMaxResults(1)
+                .getResultList();
+            if (ids.isEmpty()) {
+                // count 조회 후 삭제된 경우.
+                break;
+            }
+            ranges.add(new long[]{from, ids.get(0)});
+            from = ids.get(0);
+            position = end;
+        }
+        ranges.add(new long[]{from, Long.MAX_VALUE});
+        return ranges;
+    }
+
+    private <A> A scanPartition(long from, long to, Collector<? super Member, A, ?> collector) {
+        scanPermits.acquireUninterruptibly();
+        EntityManager partitionEm = emf.createEntityManager();
+        try {
+            partitionEm.getTransaction().begin();
+            A container = collector.supplier().get();
+            try (Stream<Member> stream = partitionEm
+                .createQuery("select m from Member m where m.id > :from and m.id <= :to", Member.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .setHint(QueryHints.HINT_FETCH_SIZE, batchSize)
+                .getResultStream()) {
+                long count = 0;
+                Iterator<Member> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    collector.accumulator().accept(container, iterator.next());
+                    if (++count % batchSize == 0) {
+                        partitionEm.clear();
+                    }
+                }
+            }
+            partitionEm.getTransaction().commit();
+            return container;
+        } finally {
+            if (partitionEm.getTransaction().isActive()) {
+                partitionEm.getTransaction().rollback();
+            }
+            partitionEm.close();
+            scanPermits.release();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <A, R> R finish(Collector<? super Member, A, R> collector, A container) {
+        if (collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+            return (R) container;
+        }
+        return collector.finisher().apply(container);
+    }
 }
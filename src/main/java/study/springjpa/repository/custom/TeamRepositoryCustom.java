@@ -0,0 +1,19 @@
+package study.springjpa.repository.custom;
+
+import java.util.Collection;
+import java.util.List;
+
+import study.springjpa.model.Team;
+
+public interface TeamRepositoryCustom {
+
+    /**
+     * 여러 team_id 로 한번에 조회.
+     * multi-load.batch-size 단위로 in 절을 묶어서 조회하고,
+     * 영속성 컨텍스트, 2차 캐시에 이미 있는 Team 은 DB 에서 조회하지 않는다.
+     * @param ids       team_id 목록.
+     * @return          입력 순서대로 정렬된 Team 목록. (존재하지 않는 ID 는 제외)
+     */
+    List<Team> findAllByIdsOrdered(Collection<Long> ids);
+
+}
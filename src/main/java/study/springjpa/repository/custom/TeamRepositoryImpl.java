@@ -0,0 +1,35 @@
+package study.springjpa.repository.custom;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import study.springjpa.model.Team;
+import study.springjpa.repository.support.MultiIdLoader;
+
+/**
+ * TeamRepository 사용자 구현 클래스.
+ */
+public class TeamRepositoryImpl implements TeamRepositoryCustom {
+
+    private final EntityManager em;
+
+    /**
+     * 다건 조회 시 한번에 조회하는 in 절 수량.
+     */
+    private final int multiLoadBatchSize;
+
+    public TeamRepositoryImpl(EntityManager em,
+                              @Value("${multi-load.batch-size:1000}") int multiLoadBatchSize) {
+        this.em = em;
+        this.multiLoadBatchSize = multiLoadBatchSize;
+    }
+
+    @Override
+    public List<Team> findAllByIdsOrdered(Collection<Long> ids) {
+        return MultiIdLoader.load(em, Team.class, ids, multiLoadBatchSize);
+    }
+}
@@ -0,0 +1,134 @@
+package study.springjpa.repository.support;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 페이징 count 결과를 짧은 시간 동안 보관하는 캐시.
+ * Key 는 (Entity, 쿼리 이름, 파라미터) 이며 해당 Entity 가 변경되면 전체 삭제한다.
+ * 트랜잭션 안의 변경은 트랜잭션마다 Entity 별로 한번만 비우고, 완료 후 한번 더 비운다. (건별 저장에도 비용이 일정하다)
+ * 변경이 있는 트랜잭션에서 조회한 count 는 커밋 전 값이기 때문에 캐시를 사용하지 않는다.
+ * <pre>
+ *     long total = countCache.get(Member.class, "countByAge", Collections.singletonList(age),
+ *         () -> memberRepository.countByAge(age));
+ * </pre>
+ */
+@Component
+public class CountCache {
+
+    private final Map<Key, Entry> cache = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public CountCache(@Value("${count-cache.ttl:5s}") Duration ttl,
+                      @Value("${count-cache.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 캐시된 count 를 반환하고, 없거나 만료된 경우 counter 로 다시 조회한다.
+     * @param entity    count 대상 Entity.
+     * @param query     쿼리 이름.
+     * @param params    쿼리 파라미터.
+     * @param counter   실제 count 조회.
+     * @return          count 결과.
+     */
+    public long get(Class<?> entity, String query, List<?> params, LongSupplier counter) {
+        if (changedInCurrentTransaction(entity)) {
+            return counter.getAsLong();
+        }
+        Key key = new Key(entity, query, params);
+        long now = System.nanoTime();
+        Entry entry = cache.get(key);
+        if (entry != null && now - entry.createdAt < ttlNanos) {
+            return entry.count;
+        }
+
+        long count = counter.getAsLong();
+        // count 조회 전 flush 로 현재 트랜잭션의 변경이 반영된 경우.
+        if (changedInCurrentTransaction(entity)) {
+            return count;
+        }
+        if (cache.size() >= maxEntries) {
+            cache.values().removeIf(value -> now - value.createdAt >= ttlNanos);
+            if (cache.size() >= maxEntries) {
+                cache.clear();
+            }
+        }
+        cache.put(key, new Entry(count, now));
+        return count;
+    }
+
+    /**
+     * Entity 의 count 캐시를 비운다.
+     * 트랜잭션 안에서 호출되면 커밋 (롤백) 후에 한번 더 비워서, 커밋 전에 다른 요청이 조회한 이전 값이 남지 않도록 한다.
+     * @param entity    변경된 Entity.
+     */
+    public void invalidate(Class<?> entity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(entity);
+            return;
+        }
+        if (changedEntities().add(entity)) {
+            evict(entity);
+        }
+    }
+
+    private boolean changedInCurrentTransaction(Class<?> entity) {
+        @SuppressWarnings("unchecked")
+        Set<Class<?>> changed = (Set<Class<?>>) TransactionSynchronizationManager.getResource(this);
+        return changed != null && changed.contains(entity);
+    }
+
+    /**
+     * 현재 트랜잭션에서 변경된 Entity 목록. 처음 호출 시 완료 후 비우는 Synchronization 을 한번만 등록한다.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<Class<?>> changedEntities() {
+        Set<Class<?>> changed = (Set<Class<?>>) TransactionSynchronizationManager.getResource(this);
+        if (changed != null) {
+            return changed;
+        }
+        Set<Class<?>> created = new HashSet<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CountCache.this);
+                created.forEach(CountCache.this::evict);
+            }
+        });
+        return created;
+    }
+
+    private void evict(Class<?> entity) {
+        cache.keySet().removeIf(key -> key.entity == entity);
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Key {
+        private final Class<?> entity;
+        private final String query;
+        private final List<?> params;
+    }
+
+    @RequiredArgsConstructor
+    private static final class Entry {
+        private final long count;
+        private final long createdAt;
+    }
+}
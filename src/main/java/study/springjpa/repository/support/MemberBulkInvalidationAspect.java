@@ -0,0 +1,30 @@
+package study.springjpa.repository.support;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import study.springjpa.model.Member;
+
+/**
+ * MemberRepository 벌크 수정, 삭제 (@Modifying JPQL, deleteInBatch, deleteAllInBatch) 는 Entity Listener 를
+ * 거치지 않기 때문에 수행 후 count 캐시와 팀 소속 회원 목록 캐시를 비운다.
+ * 변경된 팀을 알 수 없기 때문에 TeamRosterCache 는 전체를 비운다.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MemberBulkInvalidationAspect {
+
+    private final CountCache countCache;
+    private final TeamRosterCache teamRosterCache;
+
+    @AfterReturning("execution(@org.springframework.data.jpa.repository.Modifying"
+        + " * study.springjpa.repository.MemberRepository+.*(..))"
+        + " || execution(* study.springjpa.repository.MemberRepository+.delete*InBatch(..))")
+    public void afterBulkUpdate() {
+        countCache.invalidate(Member.class);
+        teamRosterCache.invalidateAll();
+    }
+}
@@ -0,0 +1,57 @@
+package study.springjpa.repository.support;
+
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+/**
+ * 여러 ID 를 한번에 조회하는 Hibernate multiLoad 도우미.
+ * <pre>
+ *     * batchSize 단위로 in 절을 묶어서 조회한다. (10,000 건 / 1,000 = 10 번)
+ *     * 영속성 컨텍스트, 2차 캐시에 이미 있는 Entity 는 DB 에서 조회하지 않는다.
+ *     * 입력된 ID 순서대로 반환하며, 존재하지 않는 ID 는 제외된다.
+ * </pre>
+ */
+public final class MultiIdLoader {
+
+    private MultiIdLoader() {
+    }
+
+    /**
+     * ID 목록으로 Entity 를 조회한다.
+     * @param em            EntityManager.
+     * @param entityClass   조회할 Entity 타입.
+     * @param ids           조회할 ID 목록. (null ID 는 무시)
+     * @param batchSize     한번에 조회하는 in 절 수량.
+     * @param <T>           Entity 타입.
+     * @return              입력 순서대로 정렬된 Entity 목록.
+     */
+    public static <T> List<T> load(EntityManager em, Class<T> entityClass, Collection<Long> ids, int batchSize) {
+        if (ids == null || ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive : " + batchSize);
+        }
+
+        List<Long> idList = ids.stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+
+        return em.unwrap(Session.class)
+            .byMultipleIds(entityClass)
+            .withBatchSize(batchSize)
+            .enableSessionCheck(true)
+            .enableOrderedReturn(true)
+            .multiLoad(idList)
+            .stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,103 @@
+package study.springjpa.repository.support;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 페이징 count 전략.
+ * <pre>
+ *     1. 첫 페이지가 페이지 크기보다 작거나 마지막 페이지인 경우 count 쿼리를 수행하지 않는다. (PageableExecutionUtils)
+ *     2. 조건 없는 전체 count 는 DB 통계 (H2 ROW_COUNT_ESTIMATE) 가 count.estimate-threshold 이상이면 추정값을 사용한다.
+ *     3. 그 외에는 CountCache 에 보관된 정확한 count 를 사용한다.
+ * </pre>
+ */
+@Slf4j
+@Component
+public class PageCounter {
+
+    private static final String ESTIMATE_QUERY =
+        "select ROW_COUNT_ESTIMATE from INFORMATION_SCHEMA.TABLES where TABLE_NAME = ?1";
+
+    private final EntityManager em;
+    private final CountCache countCache;
+    private final long estimateThreshold;
+
+    public PageCounter(EntityManager em,
+                       CountCache countCache,
+                       @Value("${count.estimate-threshold:100000}") long estimateThreshold) {
+        this.em = em;
+        this.countCache = countCache;
+        this.estimateThreshold = estimateThreshold;
+    }
+
+    /**
+     * 조건이 있는 count. (정확한 값을 캐시)
+     * @param content       조회된 페이지 내용.
+     * @param pageable      페이지 정보.
+     * @param entity        count 대상 Entity.
+     * @param query         쿼리 이름. (캐시 Key)
+     * @param params        쿼리 파라미터. (캐시 Key)
+     * @param counter       실제 count 조회.
+     * @param <T>           컨텐츠 타입.
+     * @return              페이지.
+     */
+    public <T> Page<T> page(List<T> content, Pageable pageable,
+                            Class<?> entity, String query, List<?> params, LongSupplier counter) {
+        return PageableExecutionUtils.getPage(content, pageable, () -> countCache.get(entity, query, params, counter));
+    }
+
+    /**
+     * 조건이 없는 전체 count. 테이블이 큰 경우 DB 통계의 추정값을 사용한다.
+     * @param content       조회된 페이지 내용.
+     * @param pageable      페이지 정보.
+     * @param entity        count 대상 Entity.
+     * @param counter       실제 count 조회.
+     * @param <T>           컨텐츠 타입.
+     * @return              페이지.
+     */
+    public <T> Page<T> pageOfAll(List<T> content, Pageable pageable, Class<?> entity, LongSupplier counter) {
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            long estimate = countCache.get(entity, "estimate", Collections.emptyList(), () -> estimate(entity));
+            if (estimate >= estimateThreshold) {
+                return estimate;
+            }
+            return countCache.get(entity, "count", Collections.emptyList(), counter);
+        });
+    }
+
+    /**
+     * @return  DB 통계의 행 수 추정값. 지원하지 않는 DB 인 경우 -1.
+     */
+    private long estimate(Class<?> entity) {
+        EntityPersister persister = em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+            .getMetamodel().entityPersister(entity);
+        if (!(persister instanceof AbstractEntityPersister)) {
+            return -1;
+        }
+        String tableName = ((AbstractEntityPersister) persister).getTableName();
+        try {
+            List<?> result = em.createNativeQuery(ESTIMATE_QUERY)
+                .setParameter(1, tableName.toUpperCase())
+                .getResultList();
+            return result.isEmpty() || result.get(0) == null ? -1 : ((Number) result.get(0)).longValue();
+        } catch (PersistenceException e) {
+            log.debug("row count estimate is not supported. table={}", tableName, e);
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package study.springjpa.repository.support;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기동 시 Repository 메소드 이름 쿼리 (PartTree) 의 조건 컬럼을 DB 인덱스와 비교한다.
+ * 조건 (Or 로 나뉜 경우 각각) 컬럼 중 어느 것도 인덱스의 첫번째 컬럼이 아니면 Full Scan 대상으로 경고한다.
+ * <pre>
+ *     index-check.enabled          : 검사 여부. (기본 true)
+ *     index-check.fail-on-missing  : 누락 시 기동 실패. (기본 false, 경고 로그만 출력)
+ * </pre>
+ * Query, NamedQuery 로 작성된 메소드와 연관 Entity 의 속성 (team.name 등) 을 사용하는 조건은 검사하지 않는다.
+ */
+@Slf4j
+@Component
+public class QueryIndexChecker implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory emf;
+    private final boolean enabled;
+    private final boolean failOnMissing;
+
+    public QueryIndexChecker(DataSource dataSource,
+                             EntityManagerFactory emf,
+                             @Value("${index-check.enabled:true}") boolean enabled,
+                             @Value("${index-check.fail-on-missing:false}") boolean failOnMissing) {
+        this.dataSource = dataSource;
+        this.emf = emf;
+        this.enabled = enabled;
+        this.failOnMissing = failOnMissing;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<String> missing = check(event.getApplicationContext());
+        if (missing.isEmpty()) {
+            return;
+        }
+        missing.forEach(message -> log.warn("no covering index : {}", message));
+        if (failOnMissing) {
+            throw new IllegalStateException("Repository query methods without covering index : " + missing);
+        }
+    }
+
+    /**
+     * @param context   Repository 를 찾을 ApplicationContext.
+     * @return          인덱스가 없는 메소드 목록. (Repository.method [컬럼])
+     */
+    List<String> check(ApplicationContext context) {
+        Repositories repositories = new Repositories(context);
+        SessionFactoryImplementor sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+        List<String> missing = new ArrayList<>();
+
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Class<?> domainType : repositories) {
+                EntityPersister persister = sessionFactory.getMetamodel().entityPersister(domainType);
+                if (!(persister instanceof AbstractEntityPersister)) {
+                    continue;
+                }
+                AbstractEntityPersister entityPersister = (AbstractEntityPersister) persister;
+                Set<String> leadingColumns = leadingColumns(metaData, entityPersister.getTableName());
+                RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+
+                for (Method method : information.getQueryMethods()) {
+                    if (AnnotatedElementUtils.hasAnnotation(method, Query.class)) {
+                        continue;
+                    }
+                    PartTree partTree;
+                    try {
+                        partTree = new PartTree(method.getName(), domainType);
+                    } catch (RuntimeException e) {
+                        // 메소드 이름 쿼리가 아닌 경우. (Custom 구현 등)
+                        continue;
+                    }
+                    for (PartTree.OrPart orPart : partTree) {
+                        Set<String> columns = columns(entityPersister, orPart);
+                        if (!columns.isEmpty() && columns.stream().noneMatch(leadingColumns::contains)) {
+                            missing.add(information.getRepositoryInterface().getSimpleName()
+                                + "." + method.getName() + " " + columns);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("index check skipped.", e);
+        }
+        return missing;
+    }
+
+    /**
+     * 조건 컬럼. 연관 Entity 의 속성을 사용하는 경우는 Join 이 필요하기 때문에 제외한다.
+     */
+    private Set<String> columns(AbstractEntityPersister persister, PartTree.OrPart orPart) {
+        Set<String> columns = new LinkedHashSet<>();
+        for (Part part : orPart) {
+            PropertyPath path = part.getProperty();
+            if (path.hasNext()) {
+                return new LinkedHashSet<>();
+            }
+            String property = path.getSegment();
+            String[] names = property.equals(persister.getIdentifierPropertyName())
+                ? persister.getIdentifierColumnNames()
+                : persister.getPropertyColumnNames(property);
+            for (String name : names) {
+                columns.add(name.toLowerCase(Locale.ROOT));
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * 테이블 인덱스 (PK 포함) 의 첫번째 컬럼 목록.
+     */
+    private Set<String> leadingColumns(DatabaseMetaData metaData, String tableName) throws SQLException {
+        String table = metaData.storesUpperCaseIdentifiers() ? tableName.toUpperCase(Locale.ROOT) : tableName;
+        Map<String, TreeMap<Short, String>> indexes = new HashMap<>();
+        try (ResultSet resultSet = metaData.getIndexInfo(null, null, table, false, true)) {
+            while (resultSet.next()) {
+                String indexName = resultSet.getString("INDEX_NAME");
+                String column = resultSet.getString("COLUMN_NAME");
+                if (indexName == null || column == null) {
+                    continue;
+                }
+                indexes.computeIfAbsent(indexName, key -> new TreeMap<>())
+                    .put(resultSet.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+            }
+        }
+        Set<String> leadingColumns = new LinkedHashSet<>();
+        for (TreeMap<Short, String> columns : indexes.values()) {
+            leadingColumns.add(columns.firstEntry().getValue());
+        }
+        return leadingColumns;
+    }
+}
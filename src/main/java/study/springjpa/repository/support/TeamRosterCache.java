@@ -0,0 +1,206 @@
+package study.springjpa.repository.support;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import study.springjpa.model.dto.TeamRoster;
+
+/**
+ * team_id 별 소속 회원 목록 (TeamRoster) 캐시.
+ * 보관 기간 (team-roster.ttl) 이 지나면 다시 조회한다.
+ * 팀 수 (team-roster.max-entries) 또는 보관 중인 전체 회원 수 (team-roster.max-members) 를 넘으면
+ * 가장 오래 사용되지 않은 팀부터 제거한다. (LRU)
+ * <pre>
+ *     * Member 저장, 수정 (이름, 팀 변경), 삭제 시 MemberChangeListener 가 이전 팀, 현재 팀을 비운다.
+ *     * Team 삭제 시 TeamChangeListener 가 해당 팀을 비운다.
+ *     * Member 벌크 삭제, 수정은 Entity Listener 를 거치지 않기 때문에 MemberBulkInvalidationAspect 가 전체를 비운다.
+ *     * 트랜잭션 안에서 비운 경우 팀마다 한번만 비우고, 커밋 (롤백) 후에 한번 더 비운다.
+ *     * 변경이 있는 트랜잭션에서 조회한 목록은 커밋 전 값이기 때문에 캐시를 사용하지 않는다.
+ *     * 조회 중에 해당 팀이 비워진 경우 조회 결과는 캐시에 보관하지 않는다. (이전 값이 다시 저장되지 않도록)
+ * </pre>
+ */
+@Component
+public class TeamRosterCache {
+
+    private final Map<Long, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 조회 중인 팀. 조회 중에 비워지면 제거되어 결과를 보관하지 않는다.
+     */
+    private final Map<Long, Object> loading = new HashMap<>();
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final long maxMembers;
+    private long cachedMembers;
+
+    public TeamRosterCache(@Value("${team-roster.ttl:1m}") Duration ttl,
+                           @Value("${team-roster.max-entries:1000}") int maxEntries,
+                           @Value("${team-roster.max-members:100000}") long maxMembers) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.maxMembers = maxMembers;
+    }
+
+    /**
+     * 캐시된 목록을 반환하고, 없거나 만료된 경우 loader 로 조회하여 보관한다.
+     * @param teamId    team_id.
+     * @param loader    DB 조회. (null 을 반환하면 보관하지 않는다)
+     * @return          팀 소속 회원 목록.
+     */
+    public TeamRoster get(Long teamId, Function<Long, TeamRoster> loader) {
+        if (changedInCurrentTransaction(teamId)) {
+            return loader.apply(teamId);
+        }
+        Object token = new Object();
+        long now = System.nanoTime();
+        synchronized (this) {
+            Entry entry = cache.get(teamId);
+            if (entry != null) {
+                if (now - entry.createdAt < ttlNanos) {
+                    return entry.roster;
+                }
+                remove(teamId);
+            }
+            loading.put(teamId, token);
+        }
+
+        TeamRoster roster;
+        try {
+            roster = loader.apply(teamId);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                loading.remove(teamId, token);
+            }
+            throw e;
+        }
+        // 조회 전 flush 로 현재 트랜잭션의 변경이 반영된 경우.
+        boolean cacheable = roster != null && roster.getSize() <= maxMembers && !changedInCurrentTransaction(teamId);
+        synchronized (this) {
+            if (loading.remove(teamId, token) && cacheable) {
+                put(teamId, new Entry(roster, now));
+            }
+        }
+        return roster;
+    }
+
+    /**
+     * 팀 소속 회원 목록을 비운다.
+     * @param teamId    team_id. (null 이면 무시)
+     */
+    public void invalidate(Long teamId) {
+        if (teamId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(teamId);
+            return;
+        }
+        Changes changes = changes();
+        if (!changes.all && changes.teams.add(teamId)) {
+            evict(teamId);
+        }
+    }
+
+    /**
+     * 전체 비우기. (벌크 삭제, StatelessSession 대량 수정 등 변경된 팀을 알 수 없는 경우)
+     * 트랜잭션 안에서 호출되면 커밋 (롤백) 후에 한번 더 비우고, 그 동안 이 트랜잭션에서는 캐시를 사용하지 않는다.
+     */
+    public void invalidateAll() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Changes changes = changes();
+            if (changes.all) {
+                return;
+            }
+            changes.all = true;
+        }
+        clear();
+    }
+
+    private boolean changedInCurrentTransaction(Long teamId) {
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(this);
+        return changes != null && (changes.all || changes.teams.contains(teamId));
+    }
+
+    /**
+     * 현재 트랜잭션에서 변경된 팀 목록. 처음 호출 시 완료 후 비우는 Synchronization 을 한번만 등록한다.
+     */
+    private Changes changes() {
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(this);
+        if (changes != null) {
+            return changes;
+        }
+        Changes created = new Changes();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TeamRosterCache.this);
+                if (created.all) {
+                    clear();
+                } else {
+                    created.teams.forEach(TeamRosterCache.this::evict);
+                }
+            }
+        });
+        return created;
+    }
+
+    /**
+     * 보관 후 팀 수, 전체 회원 수를 넘은 만큼 오래 사용되지 않은 팀부터 제거한다.
+     */
+    private void put(Long teamId, Entry entry) {
+        remove(teamId);
+        cache.put(teamId, entry);
+        cachedMembers += entry.roster.getSize();
+        Iterator<Entry> eldest = cache.values().iterator();
+        while ((cache.size() > maxEntries || cachedMembers > maxMembers) && eldest.hasNext()) {
+            cachedMembers -= eldest.next().roster.getSize();
+            eldest.remove();
+        }
+    }
+
+    private void remove(Long teamId) {
+        Entry removed = cache.remove(teamId);
+        if (removed != null) {
+            cachedMembers -= removed.roster.getSize();
+        }
+    }
+
+    private synchronized void evict(Long teamId) {
+        loading.remove(teamId);
+        remove(teamId);
+    }
+
+    private synchronized void clear() {
+        loading.clear();
+        cache.clear();
+        cachedMembers = 0;
+    }
+
+    @RequiredArgsConstructor
+    private static final class Entry {
+        private final TeamRoster roster;
+        private final long createdAt;
+    }
+
+    /**
+     * 트랜잭션 안에서 변경된 팀. all 이면 변경된 팀을 알 수 없는 경우.
+     */
+    private static final class Changes {
+        private final Set<Long> teams = new HashSet<>();
+        private boolean all;
+    }
+}
@@ -0,0 +1,43 @@
+package study.springjpa.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 낙관적 락 충돌 (OptimisticLockingFailureException) 시 메소드 전체를 다시 수행한다.
+ * 트랜잭션 바깥에서 동작하기 때문에 재시도 마다 새로운 트랜잭션, 영속성 컨텍스트에서 다시 조회한다.
+ * 이미 진행중인 트랜잭션 안에서 호출된 경우에는 재시도하지 않는다. (바깥 트랜잭션이 rollback-only 가 되므로)
+ * <pre>
+ *     &#64;RetryOnConflict
+ *     &#64;Transactional
+ *     public void changeName(Long id, String name) { ... }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface RetryOnConflict {
+
+    /**
+     * @return 최대 수행 횟수. (최초 수행 포함)
+     */
+    int maxAttempts() default 3;
+
+    /**
+     * @return 첫번째 재시도 전 대기 시간. (ms)
+     */
+    long backoff() default 10;
+
+    /**
+     * @return 재시도 마다 대기 시간 증가 배수.
+     */
+    double multiplier() default 2.0;
+
+    /**
+     * @return 최대 대기 시간. (ms)
+     */
+    long maxBackoff() default 200;
+}
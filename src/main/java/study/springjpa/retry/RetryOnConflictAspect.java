@@ -0,0 +1,105 @@
+package study.springjpa.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.persistence.OptimisticLockException;
+
+/**
+ * RetryOnConflict 처리.
+ * 트랜잭션 Advisor (LOWEST_PRECEDENCE) 보다 먼저 실행되어야 재시도 마다 새로운 트랜잭션이 시작된다.
+ * 대기 중 인터럽트되면 interrupt 상태를 유지하고 재시도 없이 원래의 충돌 예외를 던진다.
+ * <pre>
+ *     optimistic_lock.conflicts{method, outcome=retried|exhausted|interrupted} : 충돌 횟수
+ *     optimistic_lock.attempts{method}                                          : 호출당 수행 횟수
+ * </pre>
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RetryOnConflictAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(study.springjpa.retry.RetryOnConflict)"
+        + " || @within(study.springjpa.retry.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        RetryOnConflict retryOnConflict = findAnnotation(joinPoint, method);
+        String methodName = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + method.getName();
+
+        long backoff = retryOnConflict.backoff();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = joinPoint.proceed();
+                meterRegistry.summary("optimistic_lock.attempts", "method", methodName).record(attempt);
+                return result;
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= retryOnConflict.maxAttempts()) {
+                    conflicts(methodName, "exhausted").increment();
+                    meterRegistry.summary("optimistic_lock.attempts", "method", methodName).record(attempt);
+                    throw e;
+                }
+                if (!sleep(backoff)) {
+                    conflicts(methodName, "interrupted").increment();
+                    meterRegistry.summary("optimistic_lock.attempts", "method", methodName).record(attempt);
+                    throw e;
+                }
+                conflicts(methodName, "retried").increment();
+                log.debug("optimistic lock conflict. method={}, attempt={}", methodName, attempt);
+                backoff = Math.min((long) (backoff * retryOnConflict.multiplier()), retryOnConflict.maxBackoff());
+            }
+        }
+    }
+
+    private Counter conflicts(String method, String outcome) {
+        return meterRegistry.counter("optimistic_lock.conflicts", "method", method, "outcome", outcome);
+    }
+
+    private RetryOnConflict findAnnotation(ProceedingJoinPoint joinPoint, Method method) {
+        RetryOnConflict annotation = AnnotatedElementUtils.findMergedAnnotation(method, RetryOnConflict.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(joinPoint.getTarget().getClass(), RetryOnConflict.class);
+        }
+        return annotation;
+    }
+
+    /**
+     * 같은 시점에 충돌한 요청이 다시 동시에 수행되지 않도록 대기 시간에 Jitter 를 더한다. (0 ~ 100%)
+     * InterruptedException 은 Advice 대상 메소드에 선언되어 있지 않기 때문에 던지지 않는다.
+     * @return  인터럽트된 경우 false. (interrupt 상태는 다시 설정한다)
+     */
+    private boolean sleep(long backoff) {
+        if (backoff <= 0) {
+            return !Thread.currentThread().isInterrupted();
+        }
+        try {
+            Thread.sleep(backoff + ThreadLocalRandom.current().nextLong(backoff + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package study.springjpa.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Getter;
+
+/**
+ * Chunk 단위 벌크 수정 진행 정보.
+ * 진행 위치는 member_id 커서 (lastId) 로 관리한다. lastId 이하의 Chunk 는 모두 커밋된 상태이다.
+ * 병렬로 수행한 경우 lastId 이후에 먼저 커밋된 구간 (completedRanges) 이 있을 수 있다. (최대 parallelism 개)
+ * 실패한 경우 이 객체를 그대로 다시 넘기면 커밋되지 않은 구간만 다시 수행한다.
+ * 프로세스가 재시작된 경우 저장해 둔 age, lastId, completedRanges 로 resumeFrom 을 만들어 이어서 수행한다.
+ */
+public class BulkUpdateProgress {
+
+    /**
+     * 처음 시작하는 경우의 커서.
+     */
+    public static final long START = Long.MIN_VALUE;
+
+    @Getter
+    private final int age;
+    @Getter
+    private volatile long lastId;
+    /**
+     * lastId 이후에 커밋된 구간. (시작 member_id 미포함, 종료 member_id 포함]
+     */
+    private final List<long[]> completedRanges = new ArrayList<>();
+    private final AtomicInteger completedChunks = new AtomicInteger();
+    private final AtomicLong updatedRows = new AtomicLong();
+
+    @Getter
+    private volatile boolean completed;
+    @Getter
+    private volatile Throwable failure;
+
+    BulkUpdateProgress(int age) {
+        this(age, START);
+    }
+
+    private BulkUpdateProgress(int age, long lastId) {
+        this.age = age;
+        this.lastId = lastId;
+    }
+
+    /**
+     * 저장해 둔 커서에서 이어서 수행하기 위한 진행 정보.
+     * @param age               나이 조건.
+     * @param lastId            커밋된 마지막 member_id.
+     * @param completedRanges   lastId 이후에 커밋된 구간. [시작 member_id (미포함), 종료 member_id (포함)]
+     * @return                  진행 정보.
+     */
+    public static BulkUpdateProgress resumeFrom(int age, long lastId, List<long[]> completedRanges) {
+        BulkUpdateProgress progress = new BulkUpdateProgress(age, lastId);
+        for (long[] range : completedRanges) {
+            progress.completedRanges.add(range.clone());
+        }
+        progress.compact();
+        return progress;
+    }
+
+    /**
+     * from 에서 시작하는 구간이 이미 커밋된 경우 그 구간의 끝을 반환한다.
+     */
+    synchronized long skipCompleted(long from) {
+        for (long[] range : completedRanges) {
+            if (range[0] == from) {
+                return skipCompleted(range[1]);
+            }
+        }
+        return from;
+    }
+
+    /**
+     * from 이후에 처음 시작하는 커밋된 구간의 시작 member_id. Chunk 는 이 값을 넘지 않아야 한다.
+     */
+    synchronized Long nextCompletedFrom(long from) {
+        return completedRanges.stream()
+            .map(range -> range[0])
+            .filter(start -> start > from)
+            .min(Long::compare)
+            .orElse(null);
+    }
+
+    synchronized void complete(long[] chunk, int rows) {
+        completedRanges.add(chunk.clone());
+        compact();
+        completedChunks.incrementAndGet();
+        updatedRows.addAndGet(rows);
+    }
+
+    private void compact() {
+        completedRanges.sort(Comparator.comparingLong(range -> range[0]));
+        completedRanges.removeIf(range -> range[1] <= lastId);
+        while (!completedRanges.isEmpty() && completedRanges.get(0)[0] <= lastId) {
+            lastId = Math.max(lastId, completedRanges.remove(0)[1]);
+        }
+    }
+
+    void finish() {
+        this.completed = true;
+    }
+
+    void fail(Throwable failure) {
+        this.failure = failure;
+    }
+
+    void clearFailure() {
+        this.failure = null;
+    }
+
+    public synchronized List<long[]> getCompletedRanges() {
+        List<long[]> ranges = new ArrayList<>();
+        for (long[] range : completedRanges) {
+            ranges.add(range.clone());
+        }
+        return ranges;
+    }
+
+    public int getCompletedChunks() {
+        return completedChunks.get();
+    }
+
+    public long getUpdatedRows() {
+        return updatedRows.get();
+    }
+}
@@ -0,0 +1,195 @@
+package study.springjpa.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.persistence.EntityManager;
+
+import lombok.extern.slf4j.Slf4j;
+import study.springjpa.model.Member;
+import study.springjpa.repository.support.CountCache;
+
+/**
+ * 나이 증가 벌크 수정을 member_id 구간(Chunk) 으로 나누어 Chunk 마다 커밋한다.
+ * 한번에 전체 테이블을 수정하지 않기 때문에 Lock 범위와 Undo 크기가 Chunk 크기로 제한된다.
+ * Chunk 경계는 min ~ max 산술이 아니라 keyset (id > lastId order by id) 으로 chunk-size 번째 member_id 를 찾는다.
+ * 비어 있는 구간이 많은 ID (time 모드, sequence 누락) 에서도 Chunk 마다 chunk-size 건을 수정한다.
+ * <pre>
+ *     BulkUpdateProgress progress = updater.incrementAge(10);
+ *     if (!progress.isCompleted()) {
+ *         updater.resume(progress);       // 커밋된 커서 (lastId) 다음부터 다시 수행
+ *     }
+ * </pre>
+ * 트랜잭션 안에서 호출할 수 없다. 호출한 쪽 트랜잭션이 수정한 Member 의 Lock 을 Chunk 트랜잭션 (REQUIRES_NEW) 이
+ * 같은 Thread 에서 기다리게 되고, 호출한 쪽의 변경 내용은 커밋 전이라 Chunk 트랜잭션에서 보이지 않기 때문이다.
+ */
+@Slf4j
+@Service
+public class MemberAgeBulkUpdater {
+
+    private final EntityManager em;
+    private final CountCache countCache;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final int parallelism;
+
+    private final Counter updatedRows;
+    private final Counter completedChunks;
+    private final Counter failedChunks;
+    private final Timer chunkTimer;
+
+    public MemberAgeBulkUpdater(EntityManager em,
+                                CountCache countCache,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${bulk-update.chunk-size:1000}") int chunkSize,
+                                @Value("${bulk-update.parallelism:1}") int parallelism) {
+        this.em = em;
+        this.countCache = countCache;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+
+        this.updatedRows = Counter.builder("member.bulk_update.rows").register(meterRegistry);
+        this.completedChunks = Counter.builder("member.bulk_update.chunks").tag("result", "success").register(meterRegistry);
+        this.failedChunks = Counter.builder("member.bulk_update.chunks").tag("result", "failure").register(meterRegistry);
+        this.chunkTimer = Timer.builder("member.bulk_update.chunk.duration").register(meterRegistry);
+    }
+
+    /**
+     * age 이상인 회원의 나이를 1 증가시킨다. (MemberJpaRepository.bulkAgePlus 와 동일 조건)
+     * @param age       나이 조건.
+     * @return          진행 정보. 실패한 경우 isCompleted() == false
+     * @throws IllegalStateException 트랜잭션 안에서 호출한 경우.
+     */
+    public BulkUpdateProgress incrementAge(int age) {
+        return resume(new BulkUpdateProgress(age));
+    }
+
+    /**
+     * 커밋된 커서 다음부터 수행한다.
+     * parallelism 개의 Chunk 경계를 먼저 찾고, 경계가 겹치지 않는 Chunk 들을 병렬로 수행한다.
+     * @param progress  이전 진행 정보. (또는 BulkUpdateProgress.resumeFrom)
+     * @return          갱신된 진행 정보.
+     * @throws IllegalStateException 트랜잭션 안에서 호출한 경우.
+     */
+    public BulkUpdateProgress resume(BulkUpdateProgress progress) {
+        assertNoTransaction();
+        progress.clearFailure();
+
+        ExecutorService executor = parallelism > 1 ? Executors.newFixedThreadPool(parallelism) : null;
+        try {
+            while (progress.getFailure() == null) {
+                List<long[]> chunks = nextChunks(progress, Math.max(parallelism, 1));
+                if (chunks.isEmpty()) {
+                    progress.finish();
+                    break;
+                }
+                if (executor == null) {
+                    updateChunk(progress, chunks.get(0));
+                    continue;
+                }
+                CompletableFuture<?>[] futures = chunks.stream()
+                    .map(chunk -> CompletableFuture.runAsync(() -> updateChunk(progress, chunk), executor))
+                    .toArray(CompletableFuture[]::new);
+                CompletableFuture.allOf(futures).join();
+            }
+        } catch (CompletionException e) {
+            progress.fail(e.getCause());
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+
+        countCache.invalidate(Member.class);
+        log.info("bulk update age >= {} : {} chunks, {} rows, lastId={}, completed={}", progress.getAge(),
+            progress.getCompletedChunks(), progress.getUpdatedRows(), progress.getLastId(), progress.isCompleted());
+        return progress;
+    }
+
+    /**
+     * 커서 다음의 Chunk 를 최대 count 개 찾는다. 이미 커밋된 구간은 건너뛰고, Chunk 가 커밋된 구간을 넘지 않게 자른다.
+     * @return  [시작 member_id (미포함), 종료 member_id (포함)] 목록. 남은 Member 가 없으면 빈 목록.
+     */
+    private List<long[]> nextChunks(BulkUpdateProgress progress, int count) {
+        List<long[]> chunks = new ArrayList<>();
+        long from = progress.getLastId();
+        while (chunks.size() < count) {
+            from = progress.skipCompleted(from);
+            Long boundary = nextBoundary(from);
+            if (boundary == null) {
+                break;
+            }
+            Long completedFrom = progress.nextCompletedFrom(from);
+            if (completedFrom != null && completedFrom < boundary) {
+                boundary = completedFrom;
+            }
+            chunks.add(new long[]{from, boundary});
+            from = boundary;
+        }
+        return chunks;
+    }
+
+    /**
+     * from 다음 chunk-size 번째 member_id. 남은 건수가 chunk-size 보다 적으면 마지막 member_id.
+     */
+    private Long nextBoundary(long from) {
+        List<Long> ids = em.createQuery("select m.id from Member m where m.id > :lastId order by m.id", Long.class)
+            .setParameter("lastId", from)
+            .setFirstResult(chunkSize - 1)
+            .setMaxResults(1)
+            .getResultList();
+        if (!ids.isEmpty()) {
+            return ids.get(0);
+        }
+        return em.createQuery("select max(m.id) from Member m where m.id > :lastId", Long.class)
+            .setParameter("lastId", from)
+            .getSingleResult();
+    }
+
+    private void updateChunk(BulkUpdateProgress progress, long[] chunk) {
+        try {
+            Integer rows = chunkTimer.record(() -> chunkTransaction.execute(status ->
+                em.createQuery("update versioned Member m"
+                        + " set m.age = m.age + 1, m.lastModifiedDate = current_timestamp"
+                        + " where m.age >= :age and m.id > :from and m.id <= :to")
+                    .setParameter("age", progress.getAge())
+                    .setParameter("from", chunk[0])
+                    .setParameter("to", chunk[1])
+                    .executeUpdate()));
+            int updated = rows == null ? 0 : rows;
+            progress.complete(chunk, updated);
+            updatedRows.increment(updated);
+            completedChunks.increment();
+            log.debug("bulk update age >= {} : chunk ({}, {}] committed, lastId={}",
+                progress.getAge(), chunk[0], chunk[1], progress.getLastId());
+        } catch (RuntimeException e) {
+            log.warn("bulk update chunk ({}, {}] failed.", chunk[0], chunk[1], e);
+            failedChunks.increment();
+            progress.fail(e);
+        }
+    }
+
+    private void assertNoTransaction() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("MemberAgeBulkUpdater must not be called inside a transaction."
+                + " Each chunk commits in its own transaction.");
+        }
+    }
+}
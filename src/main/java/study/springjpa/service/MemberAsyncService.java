@@ -0,0 +1,162 @@
+package study.springjpa.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import study.springjpa.config.datasource.HikariPoolSizer;
+import study.springjpa.model.Member;
+import study.springjpa.model.dto.MemberNameDto;
+import study.springjpa.model.dto.MemberSummary;
+import study.springjpa.repository.MemberRepository;
+
+/**
+ * MemberRepository 비동기 조회 Facade.
+ * 조회는 jdbcExecutor 에서 읽기 전용 트랜잭션으로 수행되고, 호출한 Thread (Servlet Thread) 는 바로 반환된다.
+ * <pre>
+ *     * 동시에 실행되는 작업은 jdbc-executor.max-concurrency (0 이면 실제 Connection Pool 크기) 로 제한한다.
+ *       나머지는 Connection Pool (connection-timeout) 이 아닌 여기서 대기한다. (Virtual Thread 사용 시에도 동일)
+ *     * 실행 + 대기 중인 작업이 jdbc-executor.max-pending 을 넘으면 대기하지 않고
+ *       RejectedExecutionException 으로 실패한 Future 를 반환한다. (Backpressure)
+ *     * ThreadLocal 정보 (Auditor, QueryMetricsContext) 는 전달되지 않기 때문에 조회 용도로만 사용한다.
+ * </pre>
+ */
+@Service
+public class MemberAsyncService {
+
+    private final MemberRepository memberRepository;
+    private final ExecutorService jdbcExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore pendingPermits;
+    private final Semaphore concurrencyPermits;
+    private final Counter rejected;
+
+    /**
+     * max-concurrency 가 0 이면 Pool 크기 설정값이 아니라 HikariPoolSizer 가 적용된 실제 Pool 크기를 사용한다.
+     */
+    @Autowired
+    public MemberAsyncService(MemberRepository memberRepository,
+                              @Qualifier("jdbcExecutor") ExecutorService jdbcExecutor,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              DataSource dataSource,
+                              @Value("${jdbc-executor.max-pending:200}") int maxPending,
+                              @Value("${jdbc-executor.max-concurrency:0}") int maxConcurrency) {
+        this(memberRepository, jdbcExecutor, transactionManager, meterRegistry, maxPending,
+            maxConcurrency > 0 ? maxConcurrency : HikariPoolSizer.maximumPoolSize(dataSource, 10));
+    }
+
+    MemberAsyncService(MemberRepository memberRepository,
+                       ExecutorService jdbcExecutor,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       int maxPending,
+                       int maxConcurrency) {
+        this.memberRepository = memberRepository;
+        this.jdbcExecutor = jdbcExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.pendingPermits = new Semaphore(maxPending);
+        this.concurrencyPermits = new Semaphore(maxConcurrency);
+
+        this.rejected = Counter.builder("jdbc.executor.rejected").register(meterRegistry);
+        Gauge.builder("jdbc.executor.pending", pendingPermits, permits -> maxPending - permits.availablePermits())
+            .register(meterRegistry);
+        Gauge.builder("jdbc.executor.active", concurrencyPermits, permits -> maxConcurrency - permits.availablePermits())
+            .register(meterRegistry);
+    }
+
+    /**
+     * member_id 로 이름 조회.
+     * @param id        member_id.
+     * @return          조회된 이름. (없으면 empty)
+     */
+    public CompletableFuture<Optional<MemberNameDto>> findName(Long id) {
+        return submit(repository -> repository.findProjectionById(id, MemberNameDto.class));
+    }
+
+    /**
+     * 전체 회원을 MemberSummary 로 페이징 조회.
+     * @param pageable  페이지 정보.
+     * @return          조회된 페이지.
+     */
+    public CompletableFuture<Page<MemberSummary>> findAll(Pageable pageable) {
+        return submit(repository -> repository.findAllProjectedBy(pageable));
+    }
+
+    /**
+     * 이름으로 조회.
+     * @param name      검색하는 이름.
+     * @return          검색된 Member 리스트.
+     */
+    public CompletableFuture<List<Member>> findByName(String name) {
+        return submit(repository -> repository.findByName(name));
+    }
+
+    /**
+     * 임의의 조회 작업을 읽기 전용 트랜잭션으로 비동기 수행한다.
+     * 반환된 Entity 는 준영속 상태이기 때문에 지연 로딩이 필요한 값은 작업 안에서 변환해야 한다.
+     * @param query     조회 작업.
+     * @param <T>       결과 타입.
+     * @return          조회 결과. 대기 수량 초과 시 RejectedExecutionException 으로 완료된다.
+     */
+    public <T> CompletableFuture<T> submit(Function<MemberRepository, T> query) {
+        if (!pendingPermits.tryAcquire()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("JDBC executor is saturated"));
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            jdbcExecutor.execute(() -> {
+                T result;
+                try {
+                    result = execute(query);
+                } catch (Throwable e) {
+                    pendingPermits.release();
+                    future.completeExceptionally(e);
+                    return;
+                }
+                // 완료 콜백이 다음 요청을 바로 보낼 수 있도록 먼저 반납한다.
+                pendingPermits.release();
+                future.complete(result);
+            });
+        } catch (RejectedExecutionException e) {
+            // Executor 종료 중.
+            pendingPermits.release();
+            rejected.increment();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 동시 실행 수량 안에서 트랜잭션을 시작한다. (Connection 획득 전에 대기)
+     */
+    private <T> T execute(Function<MemberRepository, T> query) throws InterruptedException {
+        concurrencyPermits.acquire();
+        try {
+            return readOnlyTransaction.execute(status -> query.apply(memberRepository));
+        } finally {
+            concurrencyPermits.release();
+        }
+    }
+}
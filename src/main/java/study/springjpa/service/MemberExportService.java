@@ -0,0 +1,131 @@
+package study.springjpa.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import study.springjpa.model.dto.MemberDto;
+import study.springjpa.repository.MemberRepository;
+
+/**
+ * 회원 전체 정보를 OutputStream 으로 바로 내보내는 Export 서비스.
+ * 결과를 List 로 적재하지 않기 때문에 데이터 건수와 상관없이 Heap 사용량이 일정하다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberExportService {
+
+    /**
+     * 해당 건수마다 출력 버퍼를 내보낸다.
+     * DTO 조회이기 때문에 영속성 컨텍스트에 Entity 가 쌓이지 않는다. (clear 불필요)
+     */
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Export 형식.
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+
+    /**
+     * 회원 전체 정보를 지정된 형식으로 출력한다.
+     * @param out       출력 대상. (close 하지 않는다)
+     * @param format    출력 형식.
+     * @return          출력된 건수.
+     * @throws IOException 출력 실패.
+     */
+    @Transactional(readOnly = true)
+    public long export(OutputStream out, Format format) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<MemberDto> stream = memberRepository.streamMemberDtoAll()) {
+            long count = format == Format.CSV ? writeCsv(stream, writer) : writeNdjson(stream, writer);
+            writer.flush();
+            return count;
+        }
+    }
+
+    private long writeNdjson(Stream<MemberDto> stream, Writer writer) throws IOException {
+        // 매 건마다 flush 하지 않도록 FLUSH_AFTER_WRITE_VALUE 제외.
+        ObjectWriter objectWriter = objectMapper.writerFor(MemberDto.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+
+        long count = 0;
+        Iterator<MemberDto> iterator = stream.iterator();
+        while (iterator.hasNext()) {
+            objectWriter.writeValue(generator, iterator.next());
+            if (++count % FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        }
+        if (count > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        return count;
+    }
+
+    private long writeCsv(Stream<MemberDto> stream, Writer writer) throws IOException {
+        writer.write("id,name,teamName\n");
+
+        long count = 0;
+        Iterator<MemberDto> iterator = stream.iterator();
+        while (iterator.hasNext()) {
+            MemberDto memberDto = iterator.next();
+            writer.write(String.valueOf(memberDto.getId()));
+            writer.write(',');
+            writeCsvValue(writer, memberDto.getName());
+            writer.write(',');
+            writeCsvValue(writer, memberDto.getTeamName());
+            writer.write('\n');
+            if (++count % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        return count;
+    }
+
+    private void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
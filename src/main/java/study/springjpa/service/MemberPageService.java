@@ -0,0 +1,63 @@
+package study.springjpa.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+
+import study.springjpa.model.Member;
+import study.springjpa.model.dto.MemberSummary;
+import study.springjpa.model.dto.ResourceVersion;
+import study.springjpa.repository.MemberRepository;
+import study.springjpa.repository.support.CountCache;
+import study.springjpa.repository.support.PageCounter;
+
+/**
+ * 페이징 조회 서비스.
+ * Page 반환 Repository 메소드는 요청마다 count 쿼리를 수행하기 때문에, 목록만 조회하고 count 는 PageCounter 로 처리한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MemberPageService {
+
+    private final MemberRepository memberRepository;
+    private final PageCounter pageCounter;
+    private final CountCache countCache;
+
+    /**
+     * 전체 회원 페이지의 버전. (Weak ETag, Last-Modified)
+     * 전체 수량 (CountCache) 과 최종 수정 시각 (인덱스) 만 조회하기 때문에 목록을 조회하지 않고 304 여부를 판단할 수 있다.
+     * 삭제는 수량으로, 저장, 수정은 최종 수정 시각으로 감지한다.
+     * @param pageable  페이지 정보.
+     * @return          버전 정보.
+     */
+    public ResourceVersion findAllVersion(Pageable pageable) {
+        long count = countCache.get(Member.class, "count", Collections.emptyList(), memberRepository::count);
+        return ResourceVersion.weak(count, memberRepository.findLastModifiedDate(), pageable);
+    }
+
+    /**
+     * 전체 회원 페이징. (findAllProjectedBy 대체)
+     * @param pageable  페이지 정보.
+     * @return          조회된 페이지. 테이블이 큰 경우 전체 수량은 추정값이다.
+     */
+    public Page<MemberSummary> findAll(Pageable pageable) {
+        return pageCounter.pageOfAll(memberRepository.findSummaryListBy(pageable), pageable,
+            Member.class, memberRepository::count);
+    }
+
+    /**
+     * 나이 조건 페이징. (findPageByAge 대체)
+     * @param age       나이.
+     * @param pageable  페이지 정보.
+     * @return          조회된 페이지.
+     */
+    public Page<Member> findByAge(int age, Pageable pageable) {
+        return pageCounter.page(memberRepository.findListByAge(age, pageable), pageable,
+            Member.class, "countByAge", Collections.singletonList(age), () -> memberRepository.countByAge(age));
+    }
+}
@@ -0,0 +1,61 @@
+package study.springjpa.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityNotFoundException;
+
+import study.springjpa.model.Member;
+import study.springjpa.model.Team;
+import study.springjpa.repository.MemberRepository;
+import study.springjpa.repository.TeamRepository;
+import study.springjpa.retry.RetryOnConflict;
+
+/**
+ * Member 변경 서비스.
+ * Dirty Checking 으로 수정하며, 다른 요청과 같은 Member 를 동시에 수정한 경우 (version 충돌) 처음부터 다시 수행한다.
+ * Row Lock 은 커밋 순간에만 잡히기 때문에 요청 사이에 Lock 을 유지하지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberService {
+
+    private final MemberRepository memberRepository;
+    private final TeamRepository teamRepository;
+
+    /**
+     * 이름 변경.
+     * @param memberId  member_id.
+     * @param name      변경할 이름.
+     * @return          변경된 Member.
+     */
+    @RetryOnConflict
+    @Transactional
+    public Member changeName(Long memberId, String name) {
+        Member member = findMember(memberId);
+        member.changeName(name);
+        return member;
+    }
+
+    /**
+     * 팀 변경.
+     * @param memberId  member_id.
+     * @param teamId    변경할 team_id.
+     * @return          변경된 Member.
+     */
+    @RetryOnConflict
+    @Transactional
+    public Member changeTeam(Long memberId, Long teamId) {
+        Member member = findMember(memberId);
+        Team team = teamRepository.findById(teamId)
+            .orElseThrow(() -> new EntityNotFoundException("Team not found : " + teamId));
+        member.changeTeam(team);
+        return member;
+    }
+
+    private Member findMember(Long memberId) {
+        return memberRepository.findById(memberId)
+            .orElseThrow(() -> new EntityNotFoundException("Member not found : " + memberId));
+    }
+}
@@ -0,0 +1,39 @@
+package study.springjpa.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+import study.springjpa.model.dto.TeamRoster;
+import study.springjpa.repository.MemberRepository;
+import study.springjpa.repository.TeamRepository;
+import study.springjpa.repository.support.TeamRosterCache;
+
+/**
+ * 팀 소속 회원 목록 조회.
+ * 캐시된 경우 DB 를 조회하지 않고, 캐시에 없는 경우에만 team_id 인덱스로 id, 이름만 조회한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TeamRosterService {
+
+    private final TeamRepository teamRepository;
+    private final MemberRepository memberRepository;
+    private final TeamRosterCache teamRosterCache;
+
+    /**
+     * @param teamId    team_id.
+     * @return          팀 소속 회원 목록. 팀이 없으면 empty.
+     */
+    public Optional<TeamRoster> findRoster(Long teamId) {
+        return Optional.ofNullable(teamRosterCache.get(teamId, this::load));
+    }
+
+    private TeamRoster load(Long teamId) {
+        if (!teamRepository.existsById(teamId)) {
+            return null;
+        }
+        return TeamRoster.of(teamId, memberRepository.findRosterByTeamId(teamId));
+    }
+}
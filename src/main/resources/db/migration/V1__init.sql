@@ -0,0 +1,36 @@
+-- Member, Team 초기 스키마. (운영 프로파일에서 Flyway 로 적용, ddl-auto: validate)
+-- Entity 매핑 (@Table indexes 포함) 을 변경하면 새로운 버전의 스크립트를 추가한다.
+
+create sequence member_seq start with 1 increment by 50;
+create sequence team_seq start with 1 increment by 50;
+
+create table team (
+    team_id             bigint not null,
+    create_date         timestamp,
+    last_modified_date  timestamp,
+    create_by           varchar(255),
+    last_modified_by    varchar(255),
+    name                varchar(255),
+    primary key (team_id)
+);
+
+create table member (
+    member_id           bigint not null,
+    create_date         timestamp,
+    last_modified_date  timestamp,
+    create_by           varchar(255),
+    last_modified_by    varchar(255),
+    age                 integer not null,
+    name                varchar(255),
+    team_id             bigint,
+    primary key (member_id)
+);
+
+alter table member add constraint fk_member_team foreign key (team_id) references team;
+
+-- name = ?, name = ? and age > ?
+create index idx_member_name_age on member (name, age);
+-- age = ? order by member_id, Keyset 페이징 (age, member_id)
+create index idx_member_age_id on member (age, member_id);
+-- Team 별 Member 조회, Fetch Join
+create index idx_member_team_id on member (team_id);
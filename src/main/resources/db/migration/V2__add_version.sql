@@ -0,0 +1,4 @@
+-- 낙관적 락 버전 컬럼. (BaseEntity.version)
+
+alter table member add column version bigint default 0 not null;
+alter table team add column version bigint default 0 not null;
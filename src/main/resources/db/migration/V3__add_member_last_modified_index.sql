@@ -0,0 +1,2 @@
+-- 목록 ETag, Last-Modified 계산용 max(last_modified_date)
+create index idx_member_last_modified on member (last_modified_date);
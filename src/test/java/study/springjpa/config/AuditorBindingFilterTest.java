@@ -0,0 +1,79 @@
+package study.springjpa.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditorBindingFilterTest {
+
+    private static final String GATEWAY = "10.0.0.1";
+
+    private final AuditorBindingFilter filter = new AuditorBindingFilter("X-Member-Id", new String[]{GATEWAY, " 10.0.0.2 "});
+    private final UnitOfWorkAuditorAware auditorAware = new UnitOfWorkAuditorAware();
+
+    @AfterEach
+    void tearDown() {
+        UnitOfWorkAuditorAware.clear();
+    }
+
+    @Test
+    void principalFirst() throws Exception {
+        MockHttpServletRequest request = request(GATEWAY, "10");
+        request.setUserPrincipal(() -> "admin");
+
+        assertThat(auditorDuring(request)).isEqualTo("admin");
+    }
+
+    @Test
+    void headerFromTrustedProxy() throws Exception {
+        assertThat(auditorDuring(request(GATEWAY, " 10 "))).isEqualTo("10");
+        assertThat(auditorDuring(request("10.0.0.2", "20"))).isEqualTo("20");
+    }
+
+    @Test
+    void headerFromClientIgnored() throws Exception {
+        assertThat(auditorDuring(request("192.168.0.10", "10"))).isEqualTo(UnitOfWorkAuditorAware.SYSTEM);
+    }
+
+    @Test
+    void headerIgnoredWithoutTrustedProxies() throws Exception {
+        AuditorBindingFilter defaultFilter = new AuditorBindingFilter("X-Member-Id", new String[0]);
+        AtomicReference<String> auditor = new AtomicReference<>();
+
+        defaultFilter.doFilter(request("127.0.0.1", "10"), new MockHttpServletResponse(),
+            (req, res) -> auditor.set(auditorAware.getCurrentAuditor().orElse(null)));
+
+        assertThat(auditor.get()).isEqualTo(UnitOfWorkAuditorAware.SYSTEM);
+    }
+
+    @Test
+    void invalidHeaderIsSystem() throws Exception {
+        assertThat(auditorDuring(request(GATEWAY, "abc"))).isEqualTo(UnitOfWorkAuditorAware.SYSTEM);
+    }
+
+    @Test
+    void clearedAfterRequest() throws Exception {
+        auditorDuring(request(GATEWAY, "10"));
+
+        assertThat(auditorAware.getCurrentAuditor()).contains(UnitOfWorkAuditorAware.SYSTEM);
+    }
+
+    private MockHttpServletRequest request(String remoteAddr, String memberId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/members");
+        request.setRemoteAddr(remoteAddr);
+        request.addHeader("X-Member-Id", memberId);
+        return request;
+    }
+
+    private String auditorDuring(MockHttpServletRequest request) throws Exception {
+        AtomicReference<String> auditor = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(),
+            (req, res) -> auditor.set(auditorAware.getCurrentAuditor().orElse(null)));
+        return auditor.get();
+    }
+}
@@ -0,0 +1,101 @@
+package study.springjpa.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import study.springjpa.model.Member;
+import study.springjpa.model.Team;
+import study.springjpa.repository.MemberRepository;
+import study.springjpa.repository.TeamRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 기본 설정 (open-in-view: false, lazy-load-guard.mode: log) 에서 트랜잭션이 끝난 뒤의 지연 로딩을 감지하는지 확인한다.
+ * 테스트용 Controller 를 등록하기 때문에 공용 DB 스키마를 다시 만들지 않도록 전용 메모리 DB 를 사용한다.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:lazy-load-guard;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@Import(LazyLoadGuardTest.LazyLoadingController.class)
+class LazyLoadGuardTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TeamRepository teamRepository;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void recordProxyInitializationOutsideTransaction() {
+        // given
+        Team team = teamRepository.save(new Team("GuardTeamA"));
+        Member member = memberRepository.save(new Member("Guard1", 10, team));
+        double before = lazyLoads(Team.class.getName());
+
+        // when
+        // 응답은 기존과 같이 실패한다.
+        assertThatThrownBy(() -> mockMvc.perform(get("/lazy-load-guard/members/{id}/team", member.getId())))
+            .hasRootCauseInstanceOf(LazyInitializationException.class);
+
+        // then
+        assertThat(lazyLoads(Team.class.getName())).isEqualTo(before + 1);
+    }
+
+    @Test
+    void recordCollectionInitializationOutsideTransaction() {
+        // given
+        Team team = teamRepository.save(new Team("GuardTeamB"));
+        memberRepository.save(new Member("Guard2", 20, team));
+        String role = Team.class.getName() + ".members";
+        double before = lazyLoads(role);
+
+        // when
+        assertThatThrownBy(() -> mockMvc.perform(get("/lazy-load-guard/teams/{id}/members", team.getId())))
+            .hasRootCauseInstanceOf(LazyInitializationException.class);
+
+        // then
+        assertThat(lazyLoads(role)).isEqualTo(before + 1);
+    }
+
+    private double lazyLoads(String role) {
+        Counter counter = meterRegistry.find("jpa.lazy_load.outside_transaction").tag("role", role).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    /**
+     * Repository 조회 (트랜잭션) 가 끝난 뒤 지연 로딩을 하는 Controller.
+     */
+    @RestController
+    @RequiredArgsConstructor
+    static class LazyLoadingController {
+
+        private final MemberRepository memberRepository;
+        private final TeamRepository teamRepository;
+
+        @GetMapping("/lazy-load-guard/members/{id}/team")
+        public String team(@PathVariable Long id) {
+            return memberRepository.findById(id).orElseThrow(IllegalStateException::new).getTeam().getName();
+        }
+
+        @GetMapping("/lazy-load-guard/teams/{id}/members")
+        public int members(@PathVariable Long id) {
+            return teamRepository.findById(id).orElseThrow(IllegalStateException::new).getMembers().size();
+        }
+    }
+}
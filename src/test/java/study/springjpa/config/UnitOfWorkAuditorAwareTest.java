@@ -0,0 +1,50 @@
+package study.springjpa.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UnitOfWorkAuditorAwareTest {
+
+    private final UnitOfWorkAuditorAware auditorAware = new UnitOfWorkAuditorAware();
+
+    @AfterEach
+    void tearDown() {
+        UnitOfWorkAuditorAware.clear();
+    }
+
+    @Test
+    void systemWithoutBoundAuditor() {
+        assertThat(auditorAware.getCurrentAuditor()).contains(UnitOfWorkAuditorAware.SYSTEM);
+    }
+
+    @Test
+    void boundAuditorUntilCleared() {
+        UnitOfWorkAuditorAware.bind(10L);
+        Optional<String> first = auditorAware.getCurrentAuditor();
+
+        // 작업 단위 동안 같은 객체를 반환한다.
+        assertThat(first).contains("10");
+        assertThat(auditorAware.getCurrentAuditor()).isSameAs(first);
+
+        UnitOfWorkAuditorAware.bind("admin");
+        assertThat(auditorAware.getCurrentAuditor()).contains("admin");
+
+        UnitOfWorkAuditorAware.clear();
+        assertThat(auditorAware.getCurrentAuditor()).contains(UnitOfWorkAuditorAware.SYSTEM);
+    }
+
+    @Test
+    void boundPerThread() {
+        UnitOfWorkAuditorAware.bind(10L);
+
+        Optional<String> other = CompletableFuture.supplyAsync(auditorAware::getCurrentAuditor).join();
+
+        assertThat(other).contains(UnitOfWorkAuditorAware.SYSTEM);
+        assertThat(auditorAware.getCurrentAuditor()).contains("10");
+    }
+}
@@ -0,0 +1,33 @@
+package study.springjpa.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HikariPoolSizerTest {
+
+    @Test
+    void maximumPoolSizeAfterAutoSize() {
+        // given
+        HikariDataSource hikari = new HikariDataSource();
+        hikari.setMaximumPoolSize(10);
+        HikariPoolSizer.apply(hikari, 3);
+
+        // when
+        // datasource-proxy, Routing 처럼 감싸진 DataSource.
+        int size = HikariPoolSizer.maximumPoolSize(new DelegatingDataSource(hikari), 10);
+
+        // then
+        assertThat(size).isEqualTo(Runtime.getRuntime().availableProcessors() * 2 + 3);
+        hikari.close();
+    }
+
+    @Test
+    void defaultSizeWithoutHikari() {
+        assertThat(HikariPoolSizer.maximumPoolSize(new DriverManagerDataSource("jdbc:h2:mem:pool-sizer"), 10))
+            .isEqualTo(10);
+    }
+}
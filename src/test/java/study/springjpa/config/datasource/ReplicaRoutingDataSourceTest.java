@@ -0,0 +1,126 @@
+package study.springjpa.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 두 개의 In-Memory H2 를 Primary, Replica 로 사용하여 라우팅을 확인한다.
+ * 각 DB 의 node 테이블에 자신의 이름을 저장해두고 조회 결과로 어느 DB 에 연결되었는지 판단한다.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final FailingDataSource replica = new FailingDataSource(h2("routing-replica"));
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readOnlyTx;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("routing-primary");
+        createNode(primary, "primary");
+        createNode(replica, "replica");
+
+        // 상태 확인은 기동 시점에만 수행되도록 주기를 길게 설정한다.
+        routingDataSource = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), Duration.ofHours(1));
+        routingDataSource.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        routingDataSource.close();
+    }
+
+    @Test
+    void readOnlyToReplicaAndWriteToPrimary() {
+        assertThat(readOnlyTx.execute(status -> node())).isEqualTo("replica");
+        assertThat(writeTx.execute(status -> node())).isEqualTo("primary");
+        // 트랜잭션 밖 (auto commit) 은 Primary.
+        assertThat(node()).isEqualTo("primary");
+    }
+
+    @Test
+    void fallbackToPrimaryWhenReplicaFails() {
+        // given
+        assertThat(readOnlyTx.execute(status -> node())).isEqualTo("replica");
+        replica.down.set(true);
+        int attempts = replica.attempts.get();
+
+        // when
+        String first = readOnlyTx.execute(status -> node());
+        String second = readOnlyTx.execute(status -> node());
+
+        // then
+        // 실패한 요청은 Primary 로 처리되고, 이후 요청은 Replica 를 시도하지 않는다.
+        assertThat(first).isEqualTo("primary");
+        assertThat(second).isEqualTo("primary");
+        assertThat(replica.attempts.get() - attempts).isEqualTo(1);
+
+        // 상태 확인에서 복구되면 다시 Replica 로 보낸다.
+        replica.down.set(false);
+        routingDataSource.checkHealth();
+        assertThat(readOnlyTx.execute(status -> node())).isEqualTo("replica");
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static void createNode(DataSource dataSource, String name) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(20))");
+        jdbcTemplate.update("delete from node");
+        jdbcTemplate.update("insert into node values (?)", name);
+    }
+
+    /**
+     * down 인 경우 Connection 획득에 실패하는 Replica.
+     */
+    private static class FailingDataSource extends DelegatingDataSource {
+
+        private final AtomicBoolean down = new AtomicBoolean();
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        FailingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            attempts.incrementAndGet();
+            if (down.get()) {
+                throw new SQLException("replica down");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package study.springjpa.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import study.springjpa.model.Member;
+import study.springjpa.repository.MemberRepository;
+import study.springjpa.service.MemberService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    MemberService memberService;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void conditionalGetMember() throws Exception {
+        // given
+        Member member = memberRepository.save(new Member("ETagMember", 10));
+        String eTag = mockMvc.perform(get("/members/{id}", member.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().string("ETagMember"))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when, then
+        // 변경이 없으면 304.
+        mockMvc.perform(get("/members/{id}", member.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        // 변경 후에는 200.
+        memberService.changeName(member.getId(), "ETagMemberChanged");
+        mockMvc.perform(get("/members/{id}", member.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(content().string("ETagMemberChanged"));
+    }
+
+    @Test
+    void conditionalGetMembers() throws Exception {
+        // given
+        memberRepository.save(new Member("ETagList", 10));
+        String eTag = mockMvc.perform(get("/members").param("page", "0").param("size", "5"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=5, must-revalidate, private"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when, then
+        mockMvc.perform(get("/members").param("page", "0").param("size", "5").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        // 다른 페이지는 다른 ETag.
+        mockMvc.perform(get("/members").param("page", "1").param("size", "5").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void distinctETagForCollidingPages() throws Exception {
+        // given
+        // PageRequest.hashCode 가 같은 페이지. (page=0,size=32 와 page=1,size=1)
+        memberRepository.save(new Member("ETagCollision", 10));
+        String eTag = mockMvc.perform(get("/members").param("page", "0").param("size", "32"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when, then
+        mockMvc.perform(get("/members").param("page", "1").param("size", "1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+        // 정렬이 다른 경우.
+        mockMvc.perform(get("/members").param("page", "0").param("size", "32").param("sort", "name")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void membersPageEnvelope() throws Exception {
+        // given
+        Member member = memberRepository.save(new Member("EnvelopeMember", 33));
+
+        // when
+        String body = mockMvc.perform(get("/members").param("page", "0").param("size", "2").param("sort", "id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.page").value(0))
+            .andExpect(jsonPath("$.size").value(2))
+            .andExpect(jsonPath("$.totalElements").isNumber())
+            .andExpect(jsonPath("$.hasNext").isBoolean())
+            .andExpect(jsonPath("$.content[0].id").value(member.getId()))
+            .andExpect(jsonPath("$.content[0].name").value("EnvelopeMember"))
+            .andExpect(jsonPath("$.content[0].age").value(33))
+            .andReturn().getResponse().getContentAsString();
+
+        // then
+        // PageImpl 의 pageable, sort 등은 포함되지 않는다.
+        JsonNode root = objectMapper.readTree(body);
+        assertThat(root.fieldNames()).toIterable()
+            .containsExactly("content", "page", "size", "totalElements", "hasNext");
+        assertThat(root.get("content").get(0).fieldNames()).toIterable()
+            .containsExactly("id", "name", "age");
+    }
+}
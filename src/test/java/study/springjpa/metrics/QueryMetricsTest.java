@@ -0,0 +1,126 @@
+package study.springjpa.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import study.springjpa.model.Member;
+import study.springjpa.model.Team;
+import study.springjpa.repository.MemberRepository;
+import study.springjpa.repository.TeamRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 지연 로딩 N + 1 을 재현하기 위해 batch fetch, 2차 캐시를 사용하지 않는다.
+ * 커밋된 데이터 건수를 확인하고 설정이 다른 Context 가 스키마를 다시 만들기 때문에 전용 메모리 DB 를 사용한다.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:query-metrics;DB_CLOSE_DELAY=-1",
+    "spring.jpa.properties.hibernate.default_batch_fetch_size=1",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+    "query-metrics.n-plus-one-threshold=5"
+})
+class QueryMetricsTest {
+
+    private static final int AGE = 7001;
+
+    @Autowired
+    QueryMetricsFilter queryMetricsFilter;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TeamRepository teamRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void requestStatementCount() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/metrics-test");
+        DistributionSummary before = requestStatements();
+        long beforeCount = before == null ? 0 : before.count();
+        double beforeTotal = before == null ? 0 : before.totalAmount();
+
+        // when
+        queryMetricsFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/metrics-test");
+            memberRepository.count();
+            memberRepository.count();
+        });
+
+        // then
+        DistributionSummary after = requestStatements();
+        assertThat(after.count() - beforeCount).isEqualTo(1);
+        assertThat(after.totalAmount() - beforeTotal).isEqualTo(2);
+    }
+
+    @Test
+    void nPlusOneDetectedOnLazyTeam() {
+        // given
+        for (int i = 0; i < 6; i++) {
+            Team team = teamRepository.save(new Team("NPlusOneTeam_" + i));
+            memberRepository.save(new Member("NPlusOne_" + i, AGE, team));
+        }
+        double before = nPlusOneCount();
+
+        // when
+        // 작업 단위 안에서 Member.team 프록시를 하나씩 초기화한다.
+        QueryMetricsContext.beginUnitOfWork();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                memberRepository.findListByAge(AGE, PageRequest.of(0, 6))
+                    .forEach(member -> member.getTeam().getName()));
+        } finally {
+            QueryMetricsContext.endUnitOfWork();
+        }
+
+        // then
+        assertThat(nPlusOneCount() - before).isEqualTo(1);
+    }
+
+    @Test
+    void repositoryResultSize() {
+        // given
+        Team team = teamRepository.save(new Team("ResultSizeTeam"));
+        for (int i = 0; i < 3; i++) {
+            memberRepository.save(new Member("ResultSize_" + i, AGE + 1, team));
+        }
+        DistributionSummary before = resultSize();
+        double beforeTotal = before == null ? 0 : before.totalAmount();
+
+        // when
+        List<Member> members = memberRepository.findListByAge(AGE + 1, PageRequest.of(0, 10));
+
+        // then
+        assertThat(members).hasSize(3);
+        assertThat(resultSize().totalAmount() - beforeTotal).isEqualTo(3);
+    }
+
+    private DistributionSummary requestStatements() {
+        return meterRegistry.find("jdbc.request.statements").tag("uri", "/metrics-test").summary();
+    }
+
+    private DistributionSummary resultSize() {
+        return meterRegistry.find("repository.result.size").tag("method", "MemberRepository.findListByAge").summary();
+    }
+
+    private double nPlusOneCount() {
+        Counter counter = meterRegistry.find("jdbc.n_plus_one").tag("method", QueryMetricsContext.NO_REPOSITORY).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,72 @@
+package study.springjpa.model;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Team.members 컬렉션 캐시가 Member (연관관계 주인) 변경 시 비워지는지 확인한다.
+ * 트랜잭션마다 영속성 컨텍스트가 달라야 하기 때문에 테스트 트랜잭션을 사용하지 않는다.
+ */
+@SpringBootTest
+class TeamTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void membersCacheEvictedWhenMemberChanged() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long teamId = tx.execute(status -> {
+            Team team = new Team("CachedTeamA");
+            em.persist(team);
+            em.persist(new Member("Cached1", 10, team));
+            return team.getId();
+        });
+        Long otherTeamId = tx.execute(status -> {
+            Team team = new Team("CachedTeamB");
+            em.persist(team);
+            return team.getId();
+        });
+
+        // 1. Team.members 를 컬렉션 캐시에 올린다.
+        assertThat(memberNames(tx, teamId)).containsExactly("Cached1");
+
+        // 2. Member 만 저장한다. (Team.members 에 추가하지 않음)
+        Long memberId = tx.execute(status -> {
+            Member member = new Member("Cached2", 20, em.getReference(Team.class, teamId));
+            em.persist(member);
+            return member.getId();
+        });
+
+        // 3. 다른 트랜잭션에서 조회 시 추가된 Member 가 보여야 한다.
+        assertThat(memberNames(tx, teamId)).containsExactlyInAnyOrder("Cached1", "Cached2");
+
+        // 팀 변경, 삭제도 이전 팀, 현재 팀의 캐시를 비운다.
+        assertThat(memberNames(tx, otherTeamId)).isEmpty();
+        tx.executeWithoutResult(status -> em.find(Member.class, memberId)
+            .changeTeam(em.getReference(Team.class, otherTeamId)));
+        assertThat(memberNames(tx, teamId)).containsExactly("Cached1");
+        assertThat(memberNames(tx, otherTeamId)).containsExactly("Cached2");
+
+        tx.executeWithoutResult(status -> em.remove(em.find(Member.class, memberId)));
+        assertThat(memberNames(tx, otherTeamId)).isEmpty();
+    }
+
+    private List<String> memberNames(TransactionTemplate tx, Long teamId) {
+        return tx.execute(status -> em.find(Team.class, teamId).getMembers().stream()
+            .map(Member::getName)
+            .collect(Collectors.toList()));
+    }
+}
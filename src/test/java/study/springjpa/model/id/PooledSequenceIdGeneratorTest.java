@@ -0,0 +1,57 @@
+package study.springjpa.model.id;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import study.springjpa.model.Member;
+import study.springjpa.model.Team;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * id.generator.{sequence_name}.increment_size 가 Entity 의 &#64;GenericGenerator 설정(50)보다 우선한다.
+ * sequence 를 다른 increment 로 다시 만들기 때문에 공용 DB 대신 전용 메모리 DB 를 사용한다.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.id.generator.member_seq.increment_size=7",
+    "spring.datasource.url=jdbc:h2:mem:pooled-sequence;DB_CLOSE_DELAY=-1"
+})
+@Transactional
+class PooledSequenceIdGeneratorTest {
+
+    @Autowired
+    EntityManagerFactory emf;
+    @Autowired
+    EntityManager em;
+
+    @Test
+    void incrementSizeOverride() {
+        PooledSequenceIdGenerator memberGenerator = generatorOf(Member.class);
+        PooledSequenceIdGenerator teamGenerator = generatorOf(Team.class);
+
+        assertThat(memberGenerator.getDatabaseStructure().getIncrementSize()).isEqualTo(7);
+        assertThat(memberGenerator.getOptimizer().getIncrementSize()).isEqualTo(7);
+        // 설정하지 않은 sequence 는 annotation 값을 사용한다.
+        assertThat(teamGenerator.getDatabaseStructure().getIncrementSize()).isEqualTo(50);
+
+        // ddl-auto 로 생성된 sequence 도 같은 increment 를 사용한다.
+        Number increment = (Number) em.createNativeQuery(
+            "select increment from information_schema.sequences where sequence_name = 'MEMBER_SEQ'")
+            .getSingleResult();
+        assertThat(increment.longValue()).isEqualTo(7);
+    }
+
+    private PooledSequenceIdGenerator generatorOf(Class<?> entityClass) {
+        IdentifierGenerator generator = emf.unwrap(SessionFactoryImplementor.class).getMetamodel()
+            .entityPersister(entityClass).getIdentifierGenerator();
+        assertThat(generator).isInstanceOf(PooledSequenceIdGenerator.class);
+        return (PooledSequenceIdGenerator) generator;
+    }
+}
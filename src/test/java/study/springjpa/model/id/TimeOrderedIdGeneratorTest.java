@@ -0,0 +1,66 @@
+package study.springjpa.model.id;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import study.springjpa.SpringJpaApplication;
+import study.springjpa.model.Member;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * id.generator.mode=time 에서 생성된 ID 는 TimeOrderedIds 로 노드와 생성 시각을 복원할 수 있다.
+ * 공용 DB 스키마를 다시 만들지 않도록 전용 메모리 DB 를 사용한다.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.id.generator.mode=time",
+    "spring.jpa.properties.id.generator.node_id=5",
+    "spring.datasource.url=jdbc:h2:mem:time-ordered-id;DB_CLOSE_DELAY=-1"
+})
+@Transactional
+class TimeOrderedIdGeneratorTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    void timeModeIds() {
+        // given
+        long before = System.currentTimeMillis();
+
+        // when
+        Member first = new Member("TimeId_1", 10);
+        Member second = new Member("TimeId_2", 10);
+        em.persist(first);
+        em.persist(second);
+        em.flush();
+        long after = System.currentTimeMillis();
+
+        // then
+        assertThat(TimeOrderedIds.nodeId(first.getId())).isEqualTo(5);
+        assertThat(TimeOrderedIds.nodeId(second.getId())).isEqualTo(5);
+        assertThat(TimeOrderedIds.epochMillis(first.getId())).isBetween(before, after);
+        assertThat(second.getId()).isGreaterThan(first.getId());
+        em.clear();
+        assertThat(em.find(Member.class, second.getId()).getName()).isEqualTo("TimeId_2");
+    }
+
+    @Test
+    void nodeIdRequiredInTimeMode() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(SpringJpaApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.jpa.properties.id.generator.mode=time",
+                "spring.datasource.url=jdbc:h2:mem:time-ordered-id-missing-node;DB_CLOSE_DELAY=-1");
+
+        assertThatThrownBy(() -> builder.run())
+            .hasStackTraceContaining(PooledSequenceIdGenerator.NODE_ID_SETTING + " is required in time mode");
+    }
+}
@@ -0,0 +1,50 @@
+package study.springjpa.model.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeOrderedIdsTest {
+
+    @Test
+    void encodeTimeAndNode() {
+        long now = TimeOrderedIds.EPOCH + 1_000;
+        TimeOrderedIds ids = new TimeOrderedIds(7, () -> now);
+
+        long first = ids.next();
+        long second = ids.next();
+
+        assertThat(TimeOrderedIds.epochMillis(first)).isEqualTo(now);
+        assertThat(TimeOrderedIds.nodeId(first)).isEqualTo(7);
+        assertThat(second).isEqualTo(first + 1);
+    }
+
+    @Test
+    void increasingWhenSequenceOverflowsOrClockGoesBack() {
+        AtomicLong clock = new AtomicLong(TimeOrderedIds.EPOCH + 1_000);
+        TimeOrderedIds ids = new TimeOrderedIds(1, clock::get);
+
+        long previous = ids.next();
+        // 같은 ms 에 4096 개 이상 생성하면 다음 ms 를 사용한다.
+        for (int i = 0; i < 5_000; i++) {
+            long id = ids.next();
+            assertThat(id).isGreaterThan(previous);
+            assertThat(TimeOrderedIds.nodeId(id)).isEqualTo(1);
+            previous = id;
+        }
+        assertThat(TimeOrderedIds.epochMillis(previous)).isEqualTo(clock.get() + 1);
+
+        // 시계가 뒤로 가도 감소하지 않는다.
+        clock.addAndGet(-10_000);
+        assertThat(ids.next()).isGreaterThan(previous);
+    }
+
+    @Test
+    void invalidNodeId() {
+        assertThatThrownBy(() -> new TimeOrderedIds(TimeOrderedIds.MAX_NODE_ID + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
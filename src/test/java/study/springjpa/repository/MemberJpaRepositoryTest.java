@@ -7,6 +7,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
@@ -247,4 +248,21 @@ class MemberJpaRepositoryTest {
         assertThat(findAll.size()).isEqualTo(4);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllByIdsOrderedTest() {
+        // given
+        Member member1 = repository.save(new Member("Member1", 10));
+        Member member2 = repository.save(new Member("Member2", 20));
+        Member member3 = repository.save(new Member("Member3", 30));
+        em.flush();
+        em.clear();
+
+        // when
+        List<Member> members = repository.findAllByIdsOrdered(
+            Arrays.asList(member3.getId(), -1L, member1.getId(), member2.getId()));
+
+        // then
+        assertThat(members).extracting(Member::getName).containsExactly("Member3", "Member1", "Member2");
+    }
+}
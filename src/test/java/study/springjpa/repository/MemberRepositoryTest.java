@@ -1,9 +1,15 @@
 package study.springjpa.repository;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Slice;
@@ -11,18 +17,33 @@ import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 
 import study.springjpa.model.Member;
 import study.springjpa.model.Team;
+import study.springjpa.model.dto.MemberCursor;
 import study.springjpa.model.dto.MemberDto;
+import study.springjpa.model.dto.MemberNameDto;
+import study.springjpa.model.dto.MemberSummary;
+import study.springjpa.service.MemberExportService;
 
 import static java.lang.Thread.sleep;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -39,6 +60,10 @@ class MemberRepositoryTest {
     TeamRepository teamRepository;
     @Autowired
     EntityManager em;
+    @Autowired
+    MemberExportService memberExportService;
+    @Autowired
+    ObjectMapper objectMapper;
 
     @Test
     void memberCreate() {
@@ -242,6 +267,121 @@ class MemberRepositoryTest {
         }
     }
 
+    @Test
+    void streamMemberDtoAllTest() throws IOException {
+        // given
+        Team teamA = new Team("teamA");
+        teamRepository.save(teamA);
+
+        Member member1 = new Member("Member1", 10, teamA);
+        Member member2 = new Member("Member2", 20);
+        memberRepository.save(member1);
+        memberRepository.save(member2);
+        em.flush();
+        em.clear();
+
+        // when
+        List<MemberDto> memberDtoList;
+        try (Stream<MemberDto> stream = memberRepository.streamMemberDtoAll()) {
+            memberDtoList = stream.collect(Collectors.toList());
+        }
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        long ndjsonCount = memberExportService.export(ndjson, MemberExportService.Format.NDJSON);
+        long csvCount = memberExportService.export(csv, MemberExportService.Format.CSV);
+
+        // then
+        // 팀이 없는 회원도 포함되어야 한다.
+        assertThat(memberDtoList).extracting(MemberDto::getId).contains(member1.getId(), member2.getId());
+
+        // NDJSON : 한 줄에 한 건.
+        List<String> ndjsonLines = lines(ndjson);
+        assertThat(ndjsonLines).hasSize((int) ndjsonCount);
+        Map<Long, JsonNode> nodes = new HashMap<>();
+        for (String line : ndjsonLines) {
+            JsonNode node = objectMapper.readTree(line);
+            nodes.put(node.get("id").asLong(), node);
+        }
+        assertThat(nodes.get(member1.getId()).get("name").asText()).isEqualTo("Member1");
+        assertThat(nodes.get(member1.getId()).get("teamName").asText()).isEqualTo("teamA");
+        assertThat(nodes.get(member2.getId()).get("teamName").isNull()).isTrue();
+
+        // CSV : 헤더 + 한 줄에 한 건. 팀이 없으면 빈 값.
+        List<String> csvLines = lines(csv);
+        assertThat(csvLines.get(0)).isEqualTo("id,name,teamName");
+        assertThat(csvLines).hasSize((int) csvCount + 1)
+            .contains(member1.getId() + ",Member1,teamA", member2.getId() + ",Member2,");
+    }
+
+    private List<String> lines(ByteArrayOutputStream out) {
+        return Arrays.asList(new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n"));
+    }
+
+    @Test
+    void projectionTest() {
+        // given
+        Team teamA = new Team("teamA");
+        teamRepository.save(teamA);
+
+        Member member1 = new Member("Projection1", 10, teamA);
+        memberRepository.save(member1);
+        em.flush();
+        em.clear();
+
+        // when
+        MemberSummary summary = memberRepository.findProjectionById(member1.getId(), MemberSummary.class).orElse(null);
+        List<MemberNameDto> nameDtoList = memberRepository.findProjectionByName("Projection1", MemberNameDto.class);
+        List<MemberDto> tupleList = memberRepository.findMemberTuples(PageRequest.of(0, 1000),
+            tuple -> new MemberDto(tuple.get("id", Long.class), tuple.get("name", String.class),
+                tuple.get("teamName", String.class)));
+
+        // then
+        assertNotNull(summary);
+        assertThat(summary.getName()).isEqualTo("Projection1");
+        assertThat(summary.getAge()).isEqualTo(10);
+        assertThat(nameDtoList).extracting(MemberNameDto::getId).containsExactly(member1.getId());
+        assertThat(tupleList).filteredOn(dto -> dto.getId().equals(member1.getId()))
+            .extracting(MemberDto::getName, MemberDto::getTeamName)
+            .containsExactly(tuple("Projection1", "teamA"));
+
+        // Entity 를 조회하지 않았기 때문에 영속성 컨텍스트는 비어있다.
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void findMemberTuplesSorted() {
+        // given
+        // 다른 데이터보다 나이가 많은 회원. (age desc 로 앞에 조회된다)
+        Team teamA = teamRepository.save(new Team("TupleTeamA"));
+        Team teamB = teamRepository.save(new Team("TupleTeamB"));
+        Member member1 = memberRepository.save(new Member("TupleB", 900_001, teamA));
+        Member member2 = memberRepository.save(new Member("TupleA", 900_001, teamB));
+        Member member3 = memberRepository.save(new Member("TupleC", 900_002));
+        em.flush();
+        em.clear();
+
+        // when
+        Sort sort = Sort.by(Sort.Order.desc("age"), Sort.Order.asc("name"));
+        List<Object[]> rows = memberRepository.findMemberTuples(PageRequest.of(0, 3, sort),
+            tuple -> new Object[]{tuple.get("id"), tuple.get("name"), tuple.get("age"), tuple.get("teamName")});
+        List<Object[]> secondPage = memberRepository.findMemberTuples(PageRequest.of(1, 2, sort),
+            tuple -> new Object[]{tuple.get("id"), tuple.get("name"), tuple.get("age"), tuple.get("teamName")});
+
+        // then
+        assertThat(rows).containsExactly(
+            new Object[]{member3.getId(), "TupleC", 900_002, null},
+            new Object[]{member2.getId(), "TupleA", 900_001, "TupleTeamB"},
+            new Object[]{member1.getId(), "TupleB", 900_001, "TupleTeamA"});
+        assertThat(secondPage.get(0)[0]).isEqualTo(member1.getId());
+
+        // Tuple alias 가 아닌 정렬은 무시하지 않고 거부한다.
+        assertThatThrownBy(() -> memberRepository.findMemberTuples(PageRequest.of(0, 3, Sort.by("team.name")),
+            tuple -> tuple.get("id")))
+            .isInstanceOf(InvalidDataAccessApiUsageException.class)
+            .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void findByNames() {
         // given
@@ -362,6 +502,43 @@ class MemberRepositoryTest {
         assertFalse(sliceByAge.isLast());
     }
 
+    @Test
+    void findKeysetSliceTest() {
+        // given
+        Team teamA = new Team("TeamA");
+        teamRepository.save(teamA);
+
+        List<Long> savedIds = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Member member = new Member("Keyset_" + i, i % 5, teamA);
+            savedIds.add(memberRepository.save(member).getId());
+        }
+        em.flush();
+        em.clear();
+
+        // when
+        // 마지막 조회 위치(age, member_id) 이후로 계속 페이지를 넘긴다.
+        PageRequest of = PageRequest.of(0, 10);
+        List<Member> scanned = new ArrayList<>();
+        Slice<Member> slice = memberRepository.findSliceOrderByAgeAndId(of);
+        scanned.addAll(slice.getContent());
+        while (slice.hasNext()) {
+            MemberCursor cursor = MemberCursor.decode(MemberCursor.of(scanned.get(scanned.size() - 1)).encode());
+            slice = memberRepository.findSliceByAgeAndIdAfter(cursor.getAge(), cursor.getId(), of);
+            scanned.addAll(slice.getContent());
+        }
+
+        // then
+        // (age, member_id) 순서가 유지되고 중복, 누락이 없어야 한다.
+        for (int i = 1; i < scanned.size(); i++) {
+            Member prev = scanned.get(i - 1);
+            Member current = scanned.get(i);
+            assertTrue(prev.getAge() < current.getAge()
+                || (prev.getAge() == current.getAge() && prev.getId() < current.getId()));
+        }
+        assertThat(scanned).extracting(Member::getId).containsAll(savedIds);
+    }
+
     @Test
     void findDistCountByTest() {
         // given
@@ -410,6 +587,133 @@ class MemberRepositoryTest {
 
     }
 
+    @Test
+    void teamMembersFetchTest() {
+        // given
+        List<Long> teamIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Team team = teamRepository.save(new Team("FetchTeam_" + i));
+            memberRepository.save(new Member("FetchMember_" + i + "_1", 10, team));
+            memberRepository.save(new Member("FetchMember_" + i + "_2", 20, team));
+            teamIds.add(team.getId());
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        // when
+        statistics.clear();
+        List<Team> teams = teamRepository.findAllById(teamIds);
+        teams.forEach(team -> team.getMembers().size());
+
+        // then
+        // Team 조회 1번 + members in 절 batch 조회 1번. (default_batch_fetch_size)
+        assertThat(teams).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        // when
+        em.clear();
+        statistics.clear();
+        List<Team> fetched = teamRepository.findWithMembersByIdIn(teamIds);
+
+        // then
+        // fetch join 1번.
+        assertThat(fetched).hasSize(3)
+            .allMatch(team -> Hibernate.isInitialized(team.getMembers()) && team.getMembers().size() == 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void memberDtoConvertStatementCountTest() {
+        // given
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            teams.add(teamRepository.save(new Team("BatchTeam_" + i)));
+        }
+        for (int i = 0; i < 60; i++) {
+            memberRepository.save(new Member("BatchMember_" + i, 99, teams.get(i % teams.size())));
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        for (int size : new int[]{5, 20, 60}) {
+            // when
+            statistics.clear();
+            List<Member> members = memberRepository.findListByAge(99, PageRequest.of(0, size));
+            List<MemberDto> memberDtoList = members.stream()
+                .map(MemberDto::new)
+                .collect(Collectors.toList());
+
+            // then
+            // Member 조회 1번 + Team 프록시 batch 조회 1번. 페이지 크기와 상관없이 2번이어야 한다.
+            assertThat(memberDtoList.size()).isEqualTo(size);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            em.clear();
+        }
+    }
+
+    @Test
+    void findByNamesQueryPlanCacheTest() {
+        // given
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            memberRepository.save(new Member("PlanMember_" + i, 10));
+            names.add("PlanMember_" + i);
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        memberRepository.findByNames(names.subList(0, 5));
+
+        // when
+        statistics.clear();
+        for (int size = 6; size <= 8; size++) {
+            List<Member> members = memberRepository.findByNames(names.subList(0, size));
+            assertThat(members.size()).isEqualTo(size);
+        }
+
+        // then
+        // 5 ~ 8 개는 모두 8개로 패딩되어 같은 Query Plan 을 사용한다.
+        assertThat(statistics.getQueryPlanCacheMissCount()).isEqualTo(0);
+        assertThat(statistics.getQueryPlanCacheHitCount()).isGreaterThan(0);
+    }
+
+    @Test
+    void findAllByIdsOrderedTest() {
+        // given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            ids.add(memberRepository.save(new Member("MultiMember_" + i, 20)).getId());
+        }
+        em.flush();
+        em.clear();
+
+        Member loaded = memberRepository.findById(ids.get(10)).orElseThrow(IllegalStateException::new);
+        List<Long> request = new ArrayList<>(ids);
+        Collections.reverse(request);
+        request.add(1, -1L);
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        List<Member> members = memberRepository.findAllByIdsOrdered(request);
+
+        // then
+        // 없는 ID 는 제외되고, 입력 순서가 유지된다.
+        assertThat(members.size()).isEqualTo(ids.size());
+        assertThat(members.get(0).getId()).isEqualTo(ids.get(ids.size() - 1));
+        assertThat(members.get(members.size() - 1).getId()).isEqualTo(ids.get(0));
+        // 영속성 컨텍스트에 있던 Member 는 같은 인스턴스가 반환된다.
+        assertThat(members).contains(loaded);
+        // 250 건을 한번의 in 절로 조회.
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1);
+    }
+
     @Test
     void bulkUpdateAgeTest() {
         // given
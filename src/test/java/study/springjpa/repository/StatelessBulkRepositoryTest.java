@@ -0,0 +1,60 @@
+package study.springjpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import study.springjpa.config.UnitOfWorkAuditorAware;
+import study.springjpa.model.Member;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StatelessSession 은 자체 트랜잭션으로 커밋하기 때문에 테스트 트랜잭션을 사용하지 않는다.
+ */
+@SpringBootTest
+class StatelessBulkRepositoryTest {
+
+    @Autowired
+    StatelessBulkRepository statelessBulkRepository;
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    void insertUpdateScroll() {
+        // given
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            members.add(new Member("Stateless_" + i, 600));
+        }
+
+        // when
+        long inserted = statelessBulkRepository.insertAll(members);
+        members.forEach(member -> member.changeName(member.getName() + "_updated"));
+        long updated = statelessBulkRepository.updateAll(members);
+
+        List<Member> scrolled = new ArrayList<>();
+        long count = statelessBulkRepository.scroll("select m from Member m where m.age = :age order by m.id",
+            Map.of("age", 600), Member.class, scrolled::add);
+
+        // then
+        assertThat(inserted).isEqualTo(30);
+        assertThat(updated).isEqualTo(30);
+        assertThat(count).isEqualTo(30);
+        assertThat(scrolled).allSatisfy(member -> {
+            assertThat(member.getName()).endsWith("_updated");
+            assertThat(member.getCreateBy()).isEqualTo(UnitOfWorkAuditorAware.SYSTEM);
+            assertThat(member.getCreateDate()).isNotNull();
+            assertThat(member.getLastModifiedDate()).isNotNull();
+            assertThat(member.getVersion()).isEqualTo(1L);
+        });
+
+        // 2차 캐시, 영속성 컨텍스트를 사용하는 기존 Repository 에서도 변경 내용이 보인다.
+        Member found = memberRepository.findById(members.get(0).getId()).orElseThrow(IllegalStateException::new);
+        assertThat(found.getName()).isEqualTo("Stateless_0_updated");
+    }
+}
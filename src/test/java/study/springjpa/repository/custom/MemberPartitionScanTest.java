@@ -0,0 +1,103 @@
+package study.springjpa.repository.custom;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+import study.springjpa.model.Member;
+import study.springjpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 빈 테이블부터 확인하기 때문에 별도의 In-Memory DB 를 사용한다.
+ * 구간마다 별도의 트랜잭션으로 조회하기 때문에 테스트 트랜잭션을 사용하지 않는다.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:partition-scan;DB_CLOSE_DELAY=-1")
+class MemberPartitionScanTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    void visitEveryMemberOnce() {
+        // 빈 테이블.
+        assertThat(scanIds(4)).isEmpty();
+
+        // 한 건. 구간 수가 건수보다 많아도 한번만 조회된다.
+        Member single = memberRepository.save(new Member("Scan_0", 10));
+        assertThat(scanIds(8)).containsExactly(single.getId());
+
+        // 여러 건. 중간에 삭제된 ID 가 있어도 모든 Member 를 한번씩 조회한다.
+        List<Member> members = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            members.add(new Member("Scan_" + i, i % 50));
+        }
+        memberRepository.saveAll(members);
+        memberRepository.deleteAll(members.subList(50, 80));
+
+        List<Long> expected = memberRepository.findAll().stream()
+            .map(Member::getId)
+            .sorted()
+            .collect(Collectors.toList());
+        for (int partitions : new int[]{1, 3, 7, 64}) {
+            List<Long> ids = scanIds(partitions);
+            assertThat(ids).hasSize(expected.size())
+                .doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void balancedBySparseIds() {
+        // given
+        // 중간 ID 가 대부분 비어 있는 경우. (min ~ max 산술로 나누면 가운데 구간은 비고 양 끝에 몰린다)
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            members.add(new Member("Sparse_" + i, 20));
+        }
+        memberRepository.saveAll(members);
+        memberRepository.deleteAll(members.subList(40, 260));
+        long count = memberRepository.count();
+
+        // when
+        List<List<Long>> partitions = memberRepository.scanPartitioned(4, Collector.of(
+            () -> new ArrayList<List<Long>>(Collections.singletonList(new ArrayList<>())),
+            (container, member) -> container.get(0).add(member.getId()),
+            (left, right) -> {
+                left.addAll(right);
+                return left;
+            }));
+
+        // then
+        // 구간마다 건수가 같다. (최대 1 건 차이)
+        assertThat(partitions).hasSize(4);
+        assertThat(partitions).allSatisfy(partition ->
+            assertThat(partition.size()).isBetween((int) (count / 4), (int) ((count + 3) / 4)));
+    }
+
+    /**
+     * Repository Proxy 의 예외 변환으로 IllegalArgumentException 은 InvalidDataAccessApiUsageException 으로 전달된다.
+     */
+    @Test
+    void invalidPartitions() {
+        assertThatThrownBy(() -> memberRepository.scanPartitioned(0, Collectors.counting()))
+            .isInstanceOf(InvalidDataAccessApiUsageException.class)
+            .hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> memberRepository.scanPartitioned(-1, Collectors.counting()))
+            .isInstanceOf(InvalidDataAccessApiUsageException.class)
+            .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Long> scanIds(int partitions) {
+        return memberRepository.scanPartitioned(partitions, Collectors.mapping(Member::getId, Collectors.toList()));
+    }
+}
@@ -6,10 +6,16 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.persistence.EntityManager;
 
 import study.springjpa.model.Member;
 import study.springjpa.model.Team;
+import study.springjpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
 @Transactional
@@ -19,6 +25,9 @@ class MemberRepositoryImplTest {
     @Autowired
     EntityManager em;
 
+    @Autowired
+    MemberRepository memberRepository;
+
     @Test
     void findCustomByName() {
         // given
@@ -45,4 +54,28 @@ class MemberRepositoryImplTest {
         // then
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void saveAllBatchedTest() {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        int size = 10_000;
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            members.add(new Member("Batched_" + i, i % 100, teamA));
+        }
+
+        // when
+        BatchInsertResult result = memberRepository.saveAllBatched(members);
+
+        // then
+        assertThat(result.getCount()).isEqualTo(size);
+        assertThat(members).allMatch(member -> member.getId() != null);
+        // 저장한 Member 만 분리되고, 호출한 쪽의 Team 은 계속 관리된다.
+        assertThat(members).noneMatch(em::contains);
+        assertThat(em.contains(teamA)).isTrue();
+        assertThat(em.find(Member.class, members.get(size - 1).getId()).getName()).isEqualTo("Batched_" + (size - 1));
+    }
+}
@@ -0,0 +1,106 @@
+package study.springjpa.repository.support;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import study.springjpa.model.Member;
+import study.springjpa.repository.MemberRepository;
+import study.springjpa.service.MemberPageService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커밋된 트랜잭션 간의 count 캐시를 확인하기 때문에 테스트 트랜잭션을 사용하지 않는다.
+ */
+@SpringBootTest
+class CountCacheTest {
+
+    @Autowired
+    MemberPageService memberPageService;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    EntityManagerFactory emf;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void countCachedAcrossTransactions() {
+        // given
+        for (int i = 0; i < 10; i++) {
+            memberRepository.save(new Member("CountCache_" + i, 1077));
+        }
+        PageRequest pageRequest = PageRequest.of(0, 3);
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        // when
+        long first = memberPageService.findByAge(1077, pageRequest).getTotalElements();
+        statistics.clear();
+        long cached = memberPageService.findByAge(1077, pageRequest).getTotalElements();
+
+        // then
+        // 두번째 조회는 목록 쿼리만 수행된다.
+        assertThat(first).isEqualTo(10);
+        assertThat(cached).isEqualTo(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        // 다른 트랜잭션에서 Member 저장 시 비워진다.
+        memberRepository.save(new Member("CountCache_10", 1077));
+        assertThat(memberPageService.findByAge(1077, pageRequest).getTotalElements()).isEqualTo(11);
+    }
+
+    @Test
+    void invalidateOncePerTransaction() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        tx.executeWithoutResult(status -> {
+            em.persist(new Member("CountCacheBatch_0", 1079));
+            em.flush();
+            int synchronizations = TransactionSynchronizationManager.getSynchronizations().size();
+
+            for (int i = 1; i <= 100; i++) {
+                em.persist(new Member("CountCacheBatch_" + i, 1079));
+            }
+            em.flush();
+
+            // 저장 건수와 상관없이 Synchronization 이 늘어나지 않는다.
+            assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(synchronizations);
+        });
+    }
+
+    @Test
+    void skipCacheWithPendingWrites() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        PageRequest pageRequest = PageRequest.of(0, 1);
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        // when
+        // 커밋하지 않은 Member 가 있는 트랜잭션에서 조회 후 롤백.
+        tx.executeWithoutResult(status -> {
+            em.persist(new Member("CountCachePending_0", 1078));
+            em.persist(new Member("CountCachePending_1", 1078));
+            assertThat(memberPageService.findByAge(1078, pageRequest).getTotalElements()).isEqualTo(2);
+            statistics.clear();
+            assertThat(memberPageService.findByAge(1078, pageRequest).getTotalElements()).isEqualTo(2);
+            // 목록 + count. (캐시 사용 안함)
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            status.setRollbackOnly();
+        });
+
+        // then
+        // 커밋되지 않은 count 가 다른 요청에 보이지 않는다.
+        assertThat(memberPageService.findByAge(1078, pageRequest).getTotalElements()).isZero();
+    }
+}
@@ -0,0 +1,29 @@
+package study.springjpa.repository.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class QueryIndexCheckerTest {
+
+    @Autowired
+    QueryIndexChecker queryIndexChecker;
+    @Autowired
+    ApplicationContext context;
+
+    @Test
+    void allDerivedQueriesHaveIndex() {
+        // when
+        List<String> missing = queryIndexChecker.check(context);
+
+        // then
+        // Member 의 name, age, team_id, member_id 조건은 모두 인덱스로 시작한다.
+        assertThat(missing).isEmpty();
+    }
+}
@@ -0,0 +1,197 @@
+package study.springjpa.repository.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import study.springjpa.model.dto.MemberNameDto;
+import study.springjpa.model.dto.TeamRoster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeamRosterCacheTest {
+
+    private final TeamRosterCache cache = new TeamRosterCache(Duration.ofMinutes(1), 100, 1000);
+
+    @Test
+    void invalidateOtherTeamDuringLoadKeepsResult() {
+        // when
+        // team 1 조회 중 team 2 가 비워져도 team 1 의 결과는 보관된다.
+        cache.get(1L, teamId -> {
+            cache.invalidate(2L);
+            return roster(teamId);
+        });
+
+        // then
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, teamId -> {
+            loads.incrementAndGet();
+            return roster(teamId);
+        });
+        assertThat(loads.get()).isZero();
+    }
+
+    @Test
+    void invalidateSameTeamDuringLoadDiscardsResult() {
+        // when
+        cache.get(1L, teamId -> {
+            cache.invalidate(1L);
+            return roster(teamId);
+        });
+
+        // then
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, teamId -> {
+            loads.incrementAndGet();
+            return roster(teamId);
+        });
+        assertThat(loads.get()).isOne();
+    }
+
+    @Test
+    void invalidateOncePerTransaction() {
+        cache.get(1L, this::roster);
+        cache.get(2L, this::roster);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            for (int i = 0; i < 100; i++) {
+                cache.invalidate(1L);
+                cache.invalidate(2L);
+            }
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+            // then
+            assertThat(synchronizations).hasSize(1);
+
+            // 완료 전에 다른 요청이 다시 보관한 값도 완료 후 비워진다.
+            CompletableFuture.runAsync(() -> cache.get(1L, this::roster)).join();
+            synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(TransactionSynchronizationManager.hasResource(cache)).isFalse();
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, teamId -> {
+            loads.incrementAndGet();
+            return roster(teamId);
+        });
+        assertThat(loads.get()).isOne();
+    }
+
+    @Test
+    void bypassCacheForTeamChangedInTransaction() {
+        cache.get(1L, this::roster);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            cache.invalidate(1L);
+            AtomicInteger loads = new AtomicInteger();
+            for (int i = 0; i < 3; i++) {
+                cache.get(1L, teamId -> {
+                    loads.incrementAndGet();
+                    return roster(teamId);
+                });
+            }
+
+            // then
+            // 커밋 전 값은 보관하지 않는다.
+            assertThat(loads.get()).isEqualTo(3);
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void invalidateAllInTransaction() {
+        cache.get(1L, this::roster);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            cache.invalidateAll();
+            CompletableFuture.runAsync(() -> cache.get(1L, this::roster)).join();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+            // then
+            // 변경된 팀을 알 수 없기 때문에 이 트랜잭션에서는 모든 팀의 캐시를 사용하지 않는다.
+            AtomicInteger loads = new AtomicInteger();
+            for (int i = 0; i < 2; i++) {
+                cache.get(2L, teamId -> {
+                    loads.incrementAndGet();
+                    return roster(teamId);
+                });
+            }
+            assertThat(loads.get()).isEqualTo(2);
+            synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, teamId -> {
+            loads.incrementAndGet();
+            return roster(teamId);
+        });
+        assertThat(loads.get()).isOne();
+    }
+
+    @Test
+    void expireAfterTtl() throws InterruptedException {
+        // given
+        TeamRosterCache shortLived = new TeamRosterCache(Duration.ofMillis(50), 100, 1000);
+        TeamRoster first = shortLived.get(1L, this::roster);
+
+        // when
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        // then
+        assertThat(shortLived.get(1L, this::roster)).isNotSameAs(first);
+    }
+
+    @Test
+    void boundedByMemberCount() {
+        // given
+        // 전체 5 명까지 보관.
+        TeamRosterCache bounded = new TeamRosterCache(Duration.ofMinutes(1), 100, 5);
+        TeamRoster team1 = bounded.get(1L, teamId -> roster(teamId, 3));
+        bounded.get(2L, teamId -> roster(teamId, 2));
+
+        // when
+        bounded.get(3L, teamId -> roster(teamId, 2));
+        // 혼자서 한도를 넘는 목록은 보관하지 않는다.
+        TeamRoster large = bounded.get(4L, teamId -> roster(teamId, 6));
+
+        // then
+        // 가장 오래된 team 1 이 제거된다.
+        assertThat(bounded.get(1L, teamId -> roster(teamId, 3))).isNotSameAs(team1);
+        assertThat(bounded.get(4L, teamId -> roster(teamId, 6))).isNotSameAs(large);
+    }
+
+    private TeamRoster roster(Long teamId, int size) {
+        List<MemberNameDto> members = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            members.add(new MemberNameDto((long) i, "Member_" + i));
+        }
+        return TeamRoster.of(teamId, members);
+    }
+
+    private TeamRoster roster(Long teamId) {
+        return TeamRoster.of(teamId, Collections.<MemberNameDto>emptyList());
+    }
+}
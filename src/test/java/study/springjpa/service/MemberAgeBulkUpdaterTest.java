@@ -0,0 +1,116 @@
+package study.springjpa.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import study.springjpa.model.Member;
+import study.springjpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Chunk 는 별도 트랜잭션으로 커밋되기 때문에 테스트 트랜잭션을 사용하지 않는다.
+ * 설정이 다른 Context 가 공용 DB 스키마를 다시 만들지 않도록 전용 메모리 DB 를 사용한다.
+ */
+@SpringBootTest(properties = {
+    "bulk-update.chunk-size=7",
+    "spring.datasource.url=jdbc:h2:mem:bulk-update;DB_CLOSE_DELAY=-1"
+})
+class MemberAgeBulkUpdaterTest {
+
+    @Autowired
+    MemberAgeBulkUpdater memberAgeBulkUpdater;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    EntityManager em;
+
+    @Test
+    void incrementAgeByChunk() {
+        // given
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            members.add(new Member("Chunk_" + i, 500 + i));
+        }
+        memberRepository.saveAll(members);
+
+        // when
+        BulkUpdateProgress progress = memberAgeBulkUpdater.incrementAge(500);
+
+        // then
+        assertThat(progress.isCompleted()).isTrue();
+        assertThat(progress.getCompletedChunks()).isGreaterThan(1);
+        assertThat(progress.getLastId()).isGreaterThanOrEqualTo(members.get(members.size() - 1).getId());
+        assertThat(progress.getCompletedRanges()).isEmpty();
+        assertThat(progress.getUpdatedRows()).isGreaterThanOrEqualTo(50);
+        for (Member member : members) {
+            Member updated = memberRepository.findById(member.getId()).orElseThrow(IllegalStateException::new);
+            assertThat(updated.getAge()).isEqualTo(member.getAge() + 1);
+        }
+    }
+
+    @Test
+    void rejectInsideTransaction() {
+        // given
+        Member member = memberRepository.save(new Member("ChunkTx", 900));
+        BulkUpdateProgress progress = BulkUpdateProgress.resumeFrom(900, member.getId() - 1, Collections.emptyList());
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        // when
+        // 수정 대상 구간의 Member 를 수정한 트랜잭션 안에서 호출.
+        tx.executeWithoutResult(status -> {
+            em.find(Member.class, member.getId()).changeName("ChunkTxChanged");
+            assertThatThrownBy(() -> memberAgeBulkUpdater.resume(progress))
+                .isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> memberAgeBulkUpdater.incrementAge(900))
+                .isInstanceOf(IllegalStateException.class);
+        });
+
+        // then
+        // 호출한 쪽 트랜잭션은 정상 커밋되고, 트랜잭션 밖에서 다시 수행할 수 있다.
+        assertThat(progress.isCompleted()).isFalse();
+        BulkUpdateProgress resumed = memberAgeBulkUpdater.resume(progress);
+        Member updated = memberRepository.findById(member.getId()).orElseThrow(IllegalStateException::new);
+        assertThat(resumed.isCompleted()).isTrue();
+        assertThat(updated.getName()).isEqualTo("ChunkTxChanged");
+        assertThat(updated.getAge()).isEqualTo(901);
+    }
+
+    @Test
+    void resumeFromCursor() {
+        // given
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            members.add(new Member("ChunkResume_" + i, 700));
+        }
+        memberRepository.saveAll(members);
+        // 재시작 전 커밋된 커서와 병렬로 먼저 커밋된 구간. (저장해 둔 진행 정보)
+        long lastId = members.get(3).getId();
+        long[] completedRange = {members.get(5).getId(), members.get(7).getId()};
+
+        // when
+        BulkUpdateProgress progress = memberAgeBulkUpdater.resume(
+            BulkUpdateProgress.resumeFrom(700, lastId, Collections.singletonList(completedRange)));
+
+        // then
+        // 커서 이하, 커밋된 구간은 다시 수정하지 않는다.
+        assertThat(progress.isCompleted()).isTrue();
+        for (int i = 0; i < members.size(); i++) {
+            Member updated = memberRepository.findById(members.get(i).getId()).orElseThrow(IllegalStateException::new);
+            boolean skipped = i <= 3 || i == 6 || i == 7;
+            assertThat(updated.getAge()).isEqualTo(skipped ? 700 : 701);
+        }
+    }
+}
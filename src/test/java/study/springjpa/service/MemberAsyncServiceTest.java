@@ -0,0 +1,131 @@
+package study.springjpa.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import study.springjpa.model.Member;
+import study.springjpa.model.dto.MemberNameDto;
+import study.springjpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 조회가 별도 Thread 에서 수행되기 때문에 테스트 트랜잭션을 사용하지 않는다.
+ */
+@SpringBootTest
+class MemberAsyncServiceTest {
+
+    @Autowired
+    MemberAsyncService memberAsyncService;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void findNameAsync() throws Exception {
+        // given
+        Member member = memberRepository.save(new Member("AsyncMember", 10));
+
+        // when
+        Optional<MemberNameDto> name = memberAsyncService.findName(member.getId()).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(name).map(MemberNameDto::getName).hasValue("AsyncMember");
+    }
+
+    @Test
+    void rejectWhenSaturated() throws Exception {
+        // given
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        MemberAsyncService service = new MemberAsyncService(
+            memberRepository, executor, transactionManager, new SimpleMeterRegistry(), 1, 1);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        try {
+            CompletableFuture<Long> running = service.submit(repository -> {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return repository.count();
+            });
+
+            // when
+            CompletableFuture<Long> rejected = service.submit(MemberRepository::count);
+
+            // then
+            ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+            assertThat(e.getCause()).isInstanceOf(RejectedExecutionException.class);
+
+            latch.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isNotNull();
+            assertThat(service.submit(MemberRepository::count).get(5, TimeUnit.SECONDS)).isNotNull();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void boundConcurrencyToPoolSize() throws Exception {
+        // given
+        // Virtual Thread 처럼 작업마다 Thread 를 사용하는 Executor. 동시 실행 2, 대기 포함 10.
+        ExecutorService executor = Executors.newCachedThreadPool();
+        MemberAsyncService service = new MemberAsyncService(
+            memberRepository, executor, transactionManager, new SimpleMeterRegistry(), 10, 2);
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+
+        try {
+            // when
+            List<CompletableFuture<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(service.submit(repository -> {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    try {
+                        latch.await();
+                        return repository.count();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(e);
+                    } finally {
+                        active.decrementAndGet();
+                    }
+                }));
+            }
+            CompletableFuture<Long> rejected = service.submit(MemberRepository::count);
+            // 대기 중인 작업이 실행되지 않는지 확인할 시간.
+            TimeUnit.MILLISECONDS.sleep(200);
+            latch.countDown();
+
+            // then
+            // 대기 수량 초과분만 503 (RejectedExecutionException), 나머지는 Connection 대기 없이 모두 성공한다.
+            ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+            assertThat(e.getCause()).isInstanceOf(RejectedExecutionException.class);
+            for (CompletableFuture<Long> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).isNotNull();
+            }
+            assertThat(maxActive.get()).isEqualTo(2);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
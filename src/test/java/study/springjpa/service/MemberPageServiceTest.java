@@ -0,0 +1,80 @@
+package study.springjpa.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import study.springjpa.model.Member;
+import study.springjpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberPageServiceTest {
+
+    @Autowired
+    MemberPageService memberPageService;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    EntityManager em;
+
+    /**
+     * 테스트 트랜잭션 안에서 Member 를 저장하기 때문에 count 캐시를 사용하지 않는다.
+     * 트랜잭션 간 캐시는 CountCacheTest 에서 확인한다.
+     */
+    @Test
+    void countNotCachedWithPendingWrites() {
+        // given
+        for (int i = 0; i < 10; i++) {
+            memberRepository.save(new Member("PageMember_" + i, 77));
+        }
+        em.flush();
+        PageRequest pageRequest = PageRequest.of(0, 3);
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        // when
+        Page<Member> first = memberPageService.findByAge(77, pageRequest);
+        statistics.clear();
+        Page<Member> cached = memberPageService.findByAge(77, pageRequest);
+
+        // then
+        // 커밋 전 값이므로 두번째 조회도 count 쿼리를 수행한다.
+        assertThat(first.getTotalElements()).isEqualTo(10);
+        assertThat(cached.getTotalElements()).isEqualTo(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        // Member 저장 후 조회
+        memberRepository.save(new Member("PageMember_10", 77));
+        em.flush();
+        assertThat(memberPageService.findByAge(77, pageRequest).getTotalElements()).isEqualTo(11);
+
+        // 벌크 수정 후에도 비워진다.
+        memberRepository.bulkUpdateAge(76);
+        assertThat(memberPageService.findByAge(77, pageRequest).getTotalElements()).isEqualTo(0);
+    }
+
+    @Test
+    void skipCountOnShortFirstPage() {
+        // given
+        memberRepository.save(new Member("ShortPage", 78));
+        em.flush();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        Page<Member> page = memberPageService.findByAge(78, PageRequest.of(0, 20));
+
+        // then
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
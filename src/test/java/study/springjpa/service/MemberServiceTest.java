@@ -0,0 +1,142 @@
+package study.springjpa.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.EntityManager;
+
+import study.springjpa.model.Member;
+import study.springjpa.repository.MemberRepository;
+import study.springjpa.retry.RetryOnConflict;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 트랜잭션 단위로 커밋, 재시도를 확인하기 때문에 테스트 트랜잭션을 사용하지 않는다.
+ */
+@SpringBootTest
+class MemberServiceTest {
+
+    @Autowired
+    MemberService memberService;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    ConflictingOperation conflictingOperation;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void staleUpdateIsRejected() {
+        // given
+        Member member = memberRepository.save(new Member("VersionMember", 10));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // when
+        // 조회 후 커밋 전에 다른 요청이 먼저 수정한 경우.
+        assertThrows(OptimisticLockingFailureException.class, () ->
+            transactionTemplate.executeWithoutResult(status -> {
+                Member stale = em.find(Member.class, member.getId());
+                CompletableFuture.runAsync(() -> memberService.changeName(member.getId(), "Winner")).join();
+                stale.changeName("Loser");
+            }));
+
+        // then
+        Member updated = memberRepository.findById(member.getId()).orElseThrow(IllegalStateException::new);
+        assertThat(updated.getName()).isEqualTo("Winner");
+        assertThat(updated.getVersion()).isEqualTo(member.getVersion() + 1);
+    }
+
+    @Test
+    void retryUntilSuccess() {
+        // given
+        conflictingOperation.reset();
+
+        // when
+        int attempts = conflictingOperation.run(2);
+
+        // then
+        assertThat(attempts).isEqualTo(3);
+        assertThat(meterRegistry.counter("optimistic_lock.conflicts",
+            "method", "ConflictingOperation.run", "outcome", "retried").count()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void retryExhausted() {
+        // given
+        conflictingOperation.reset();
+
+        // when, then
+        assertThrows(OptimisticLockingFailureException.class, () -> conflictingOperation.run(5));
+    }
+
+    @Test
+    void retryInterrupted() {
+        // given
+        conflictingOperation.reset();
+
+        // when
+        // 재시도 대기 중 인터럽트 (요청 취소, 종료 등)
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(OptimisticLockingFailureException.class, () -> conflictingOperation.run(5));
+
+            // then
+            // UndeclaredThrowableException 이 아닌 원래 충돌 예외, 재시도 없음, interrupt 상태 유지.
+            assertThat(conflictingOperation.attempts()).isEqualTo(1);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @TestConfiguration
+    static class ConflictingOperationConfig {
+
+        @Bean
+        public ConflictingOperation conflictingOperation() {
+            return new ConflictingOperation();
+        }
+    }
+
+    /**
+     * 지정된 횟수만큼 충돌이 발생하는 작업.
+     */
+    static class ConflictingOperation {
+
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        public void reset() {
+            attempts.set(0);
+        }
+
+        public int attempts() {
+            return attempts.get();
+        }
+
+        @RetryOnConflict(maxAttempts = 3, backoff = 1)
+        public int run(int conflicts) {
+            int attempt = attempts.incrementAndGet();
+            if (attempt <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException(Member.class, attempt);
+            }
+            return attempt;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package study.springjpa.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import study.springjpa.model.Member;
+import study.springjpa.model.Team;
+import study.springjpa.model.dto.TeamRoster;
+import study.springjpa.repository.MemberRepository;
+import study.springjpa.repository.TeamRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커밋 후 캐시가 비워지는지 확인하기 때문에 테스트 트랜잭션을 사용하지 않는다.
+ */
+@SpringBootTest
+class TeamRosterServiceTest {
+
+    @Autowired
+    TeamRosterService teamRosterService;
+    @Autowired
+    MemberService memberService;
+    @Autowired
+    TeamRepository teamRepository;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    EntityManagerFactory emf;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void rosterCachedAndInvalidatedOnChangeTeam() {
+        // given
+        Team teamA = teamRepository.save(new Team("RosterTeamA"));
+        Team teamB = teamRepository.save(new Team("RosterTeamB"));
+        Member member1 = memberRepository.save(new Member("Roster1", 10, teamA));
+        memberRepository.save(new Member("Roster2", 20, teamA));
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        // when
+        TeamRoster first = teamRosterService.findRoster(teamA.getId()).orElseThrow(IllegalStateException::new);
+        statistics.clear();
+        TeamRoster cached = teamRosterService.findRoster(teamA.getId()).orElseThrow(IllegalStateException::new);
+
+        // then
+        assertThat(first.getMemberNames()).containsExactly("Roster1", "Roster2");
+        assertThat(cached).isSameAs(first);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // 팀 변경 시 이전 팀, 현재 팀 모두 다시 조회된다.
+        teamRosterService.findRoster(teamB.getId());
+        memberService.changeTeam(member1.getId(), teamB.getId());
+
+        TeamRoster rosterA = teamRosterService.findRoster(teamA.getId()).orElseThrow(IllegalStateException::new);
+        TeamRoster rosterB = teamRosterService.findRoster(teamB.getId()).orElseThrow(IllegalStateException::new);
+        assertThat(rosterA.getMemberNames()).containsExactly("Roster2");
+        assertThat(rosterB.getMemberIds()).containsExactly(member1.getId());
+    }
+
+    @Test
+    void rosterInvalidatedOnTeamRemoval() {
+        // given
+        Team team = teamRepository.save(new Team("RosterRemovedTeam"));
+        assertThat(teamRosterService.findRoster(team.getId())).isPresent();
+
+        // when
+        teamRepository.delete(team);
+
+        // then
+        assertThat(teamRosterService.findRoster(team.getId())).isEmpty();
+    }
+
+    @Test
+    void rosterNotSharedFromWritingTransaction() {
+        // given
+        Team team = teamRepository.save(new Team("RosterPendingTeam"));
+        Member member = memberRepository.save(new Member("RosterPending", 10, team));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // when
+        // 변경 후 같은 트랜잭션에서 조회한 목록은 다른 요청에 공유되지 않는다. (롤백될 수 있다)
+        transactionTemplate.executeWithoutResult(status -> {
+            em.find(Member.class, member.getId()).changeName("RosterPendingChanged");
+            em.flush();
+            assertThat(teamRosterService.findRoster(team.getId()).orElseThrow(IllegalStateException::new)
+                .getMemberNames()).containsExactly("RosterPendingChanged");
+
+            TeamRoster other = CompletableFuture.supplyAsync(() -> teamRosterService.findRoster(team.getId()))
+                .join().orElseThrow(IllegalStateException::new);
+            assertThat(other.getMemberNames()).containsExactly("RosterPending");
+            status.setRollbackOnly();
+        });
+
+        // then
+        TeamRoster roster = teamRosterService.findRoster(team.getId()).orElseThrow(IllegalStateException::new);
+        assertThat(roster.getMemberNames()).containsExactly("RosterPending");
+    }
+
+    @Test
+    void rosterInvalidatedOnBulkDelete() {
+        // given
+        Team team = teamRepository.save(new Team("RosterBulkTeam"));
+        Member member = memberRepository.save(new Member("RosterBulk", 10, team));
+        assertThat(teamRosterService.findRoster(team.getId()).orElseThrow(IllegalStateException::new)
+            .getMemberIds()).containsExactly(member.getId());
+
+        // when
+        // Entity Listener 를 거치지 않는 삭제.
+        memberRepository.deleteInBatch(Collections.singletonList(member));
+
+        // then
+        assertThat(teamRosterService.findRoster(team.getId()).orElseThrow(IllegalStateException::new)
+            .getMemberIds()).isEmpty();
+    }
+
+    @Test
+    void unknownTeam() {
+        assertThat(teamRosterService.findRoster(-1L)).isEmpty();
+    }
+}